@@ -3,6 +3,7 @@ package com.notes.backend.controller;
 import com.notes.backend.dto.AuthResponse;
 import com.notes.backend.dto.LoginRequest;
 import com.notes.backend.dto.RegisterRequest;
+import com.notes.backend.exception.ServiceBusyException;
 import com.notes.backend.service.AuthService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
@@ -35,12 +36,15 @@ public class AuthController {
     @ApiResponses(value = {
         @ApiResponse(responseCode = "201", description = "Utilisateur créé avec succès"),
         @ApiResponse(responseCode = "400", description = "Données invalides"),
-        @ApiResponse(responseCode = "409", description = "Email déjà utilisé")
+        @ApiResponse(responseCode = "409", description = "Email déjà utilisé"),
+        @ApiResponse(responseCode = "503", description = "Service d'authentification saturé (voir Retry-After)")
     })
     public ResponseEntity<?> register(@Valid @RequestBody RegisterRequest request) {
         try {
             AuthResponse response = authService.register(request);
             return ResponseEntity.status(HttpStatus.CREATED).body(response);
+        } catch (ServiceBusyException e) {
+            throw e;
         } catch (RuntimeException e) {
             if ("Email already exists".equals(e.getMessage())) {
                 return ResponseEntity.status(HttpStatus.CONFLICT).body("Email already exists");
@@ -54,12 +58,15 @@ public class AuthController {
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Connexion réussie"),
         @ApiResponse(responseCode = "401", description = "Identifiants invalides"),
-        @ApiResponse(responseCode = "400", description = "Données invalides")
+        @ApiResponse(responseCode = "400", description = "Données invalides"),
+        @ApiResponse(responseCode = "503", description = "Service d'authentification saturé (voir Retry-After)")
     })
     public ResponseEntity<AuthResponse> login(@Valid @RequestBody LoginRequest request) {
         try {
             AuthResponse response = authService.login(request);
             return ResponseEntity.ok(response);
+        } catch (ServiceBusyException e) {
+            throw e;
         } catch (RuntimeException e) {
             if ("Invalid email or password".equals(e.getMessage())) {
                 return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
@@ -83,4 +90,16 @@ public class AuthController {
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
         }
     }
+
+    @PostMapping("/logout")
+    @Operation(summary = "Déconnexion : révoque le token fourni")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "204", description = "Token révoqué")
+    })
+    public ResponseEntity<Void> logout(@RequestHeader("Authorization") String authorization) {
+        if (authorization.startsWith("Bearer ")) {
+            authService.logout(authorization.substring(7));
+        }
+        return ResponseEntity.noContent().build();
+    }
 }
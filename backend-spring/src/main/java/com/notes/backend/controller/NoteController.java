@@ -1,8 +1,13 @@
 package com.notes.backend.controller;
 
+import com.notes.backend.dto.CursorPage;
+import com.notes.backend.dto.NotePatchRequest;
+import com.notes.backend.dto.NotePatchResponse;
 import com.notes.backend.dto.NoteRequest;
 import com.notes.backend.dto.NoteResponse;
+import com.notes.backend.dto.NoteVersion;
 import com.notes.backend.model.Note;
+import com.notes.backend.service.NoteETag;
 import com.notes.backend.service.NoteService;
 import com.notes.backend.service.ShareService;
 import io.swagger.v3.oas.annotations.Operation;
@@ -13,6 +18,8 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
@@ -26,6 +33,9 @@ import org.springframework.web.bind.annotation.*;
 @Tag(name = "Notes", description = "API de gestion des notes")
 public class NoteController {
 
+    // Taille maximale d'une page de liste (pagination classique ou par curseur)
+    private static final int MAX_PAGE_SIZE = 100;
+
     @Autowired
     private NoteService noteService;
 
@@ -36,35 +46,127 @@ public class NoteController {
     @Operation(summary = "Récupère les notes de l'utilisateur avec pagination et filtres")
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Notes récupérées avec succès"),
+        @ApiResponse(responseCode = "400", description = "Paramètres invalides"),
         @ApiResponse(responseCode = "401", description = "Non authentifié")
     })
-    public ResponseEntity<Page<NoteResponse>> getUserNotes(
-            @Parameter(description = "Terme de recherche dans le titre") @RequestParam(required = false) String query,
+    public ResponseEntity<?> getUserNotes(
+            @Parameter(description = "Recherche plein texte dans le titre et le contenu (préfixes et accents tolérés)") @RequestParam(required = false) String query,
             @Parameter(description = "Filtre par tag") @RequestParam(required = false) String tag,
             @Parameter(description = "Filtre par visibilité") @RequestParam(required = false) Note.Visibility visibility,
             @Parameter(description = "Numéro de page (0-based)") @RequestParam(defaultValue = "0") int page,
-            @Parameter(description = "Taille de la page") @RequestParam(defaultValue = "10") int size,
+            @Parameter(description = "Taille de la page (1 à 100)") @RequestParam(defaultValue = "10") int size,
+            @Parameter(description = "Curseur de pagination (vide pour la première page) ; active la pagination par curseur") @RequestParam(required = false) String cursor,
+            @Parameter(description = "Calculer le nombre total de notes (pagination par curseur)") @RequestParam(defaultValue = "false") boolean includeTotal,
+            @Parameter(description = "Vue : full (note complète) ou summary (titre, tags, extrait)") @RequestParam(defaultValue = "full") String view,
             Authentication authentication) {
 
         String userEmail = authentication.getName();
-        Page<NoteResponse> notes = noteService.getUserNotes(userEmail, query, tag, visibility, page, size);
+        boolean summary = isSummaryView(view);
+        checkPaging(page, size);
+        if (cursor != null) {
+            if (query != null && !query.isBlank()) {
+                throw new RuntimeException("Invalid request: cursor pagination cannot be combined with a search query");
+            }
+            CursorPage<?> notes = summary
+                    ? noteService.getUserNoteSummariesByCursor(userEmail, tag, visibility, cursor, size, includeTotal)
+                    : noteService.getUserNotesByCursor(userEmail, tag, visibility, cursor, size, includeTotal);
+            return ResponseEntity.ok(notes);
+        }
+
+        Page<?> notes = summary
+                ? noteService.getUserNoteSummaries(userEmail, query, tag, visibility, page, size)
+                : noteService.getUserNotes(userEmail, query, tag, visibility, page, size);
         return ResponseEntity.ok(notes);
     }
 
+    @GetMapping("/shared")
+    @Operation(summary = "Récupère les notes partagées avec l'utilisateur")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Notes récupérées avec succès"),
+        @ApiResponse(responseCode = "400", description = "Paramètres invalides"),
+        @ApiResponse(responseCode = "401", description = "Non authentifié")
+    })
+    public ResponseEntity<?> getSharedNotes(
+            @Parameter(description = "Numéro de page (0-based)") @RequestParam(defaultValue = "0") int page,
+            @Parameter(description = "Taille de la page (1 à 100)") @RequestParam(defaultValue = "10") int size,
+            @Parameter(description = "Curseur de pagination (vide pour la première page) ; active la pagination par curseur") @RequestParam(required = false) String cursor,
+            @Parameter(description = "Calculer le nombre total de notes (pagination par curseur)") @RequestParam(defaultValue = "false") boolean includeTotal,
+            @Parameter(description = "Vue : full (note complète) ou summary (titre, tags, extrait)") @RequestParam(defaultValue = "full") String view,
+            Authentication authentication) {
+
+        String userEmail = authentication.getName();
+        boolean summary = isSummaryView(view);
+        checkPaging(page, size);
+        if (cursor != null) {
+            CursorPage<?> notes = summary
+                    ? noteService.getSharedNoteSummariesByCursor(userEmail, cursor, size, includeTotal)
+                    : noteService.getSharedNotesByCursor(userEmail, cursor, size, includeTotal);
+            return ResponseEntity.ok(notes);
+        }
+
+        Page<?> notes = summary
+                ? noteService.getSharedNoteSummaries(userEmail, page, size)
+                : noteService.getSharedNotes(userEmail, page, size);
+        return ResponseEntity.ok(notes);
+    }
+
+    private static void checkPaging(int page, int size) {
+        if (page < 0) {
+            throw new RuntimeException("Invalid page: must be zero or greater");
+        }
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            throw new RuntimeException("Invalid size: must be between 1 and " + MAX_PAGE_SIZE);
+        }
+    }
+
+    private static boolean isSummaryView(String view) {
+        if ("summary".equalsIgnoreCase(view)) {
+            return true;
+        }
+        if (!"full".equalsIgnoreCase(view)) {
+            throw new RuntimeException("Invalid view: expected 'full' or 'summary'");
+        }
+        return false;
+    }
+
     @GetMapping("/{id}")
     @Operation(summary = "Récupère une note par son ID")
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Note récupérée avec succès"),
+        @ApiResponse(responseCode = "304", description = "Note inchangée depuis l'ETag ou la date fournis"),
         @ApiResponse(responseCode = "404", description = "Note non trouvée"),
         @ApiResponse(responseCode = "403", description = "Accès non autorisé")
     })
     public ResponseEntity<NoteResponse> getNoteById(
             @Parameter(description = "ID de la note") @PathVariable Long id,
+            @Parameter(description = "Format du contenu : md (markdown) ou html (rendu assaini)") @RequestParam(defaultValue = "md") String format,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+            @RequestHeader(value = HttpHeaders.IF_MODIFIED_SINCE, required = false) String ifModifiedSince,
             Authentication authentication) {
 
         String userEmail = authentication.getName();
-        NoteResponse note = noteService.getNoteById(id, userEmail);
-        return ResponseEntity.ok(note);
+        boolean html = NoteFormat.isHtml(format);
+
+        // Requête conditionnelle : seule la version est lue tant que la note n'a pas changé
+        if (ifNoneMatch != null || ifModifiedSince != null) {
+            NoteVersion version = noteService.getNoteVersion(id, userEmail);
+            if (NoteETag.isNotModified(ifNoneMatch, ifModifiedSince, version)) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                        .eTag(NoteETag.of(version))
+                        .lastModified(version.lastModified())
+                        .cacheControl(CacheControl.noCache().cachePrivate())
+                        .build();
+            }
+        }
+
+        NoteResponse note = html
+                ? noteService.getNoteByIdAsHtml(id, userEmail)
+                : noteService.getNoteById(id, userEmail);
+        return ResponseEntity.ok()
+                .eTag(NoteETag.of(note.noteVersion()))
+                .lastModified(note.noteVersion().lastModified())
+                .cacheControl(CacheControl.noCache().cachePrivate())
+                .body(note);
     }
 
     @PostMapping
@@ -98,7 +200,27 @@ public class NoteController {
 
         String userEmail = authentication.getName();
         NoteResponse note = noteService.updateNote(id, request, userEmail);
-        return ResponseEntity.ok(note);
+        return ResponseEntity.ok().eTag(NoteETag.of(note.noteVersion())).body(note);
+    }
+
+    @PatchMapping("/{id}")
+    @Operation(summary = "Modifie partiellement une note (sauvegarde automatique)")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Note modifiée, nouvelle version dans l'ETag"),
+        @ApiResponse(responseCode = "404", description = "Note non trouvée"),
+        @ApiResponse(responseCode = "400", description = "Données invalides"),
+        @ApiResponse(responseCode = "409", description = "Modification concurrente"),
+        @ApiResponse(responseCode = "412", description = "La note a changé depuis la version indiquée par If-Match")
+    })
+    public ResponseEntity<NotePatchResponse> patchNote(
+            @Parameter(description = "ID de la note") @PathVariable Long id,
+            @Parameter(description = "ETag de la version modifiée") @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+            @Valid @RequestBody NotePatchRequest request,
+            Authentication authentication) {
+
+        String userEmail = authentication.getName();
+        NotePatchResponse note = noteService.patchNote(id, request, NoteETag.parseIfMatch(ifMatch), userEmail);
+        return ResponseEntity.ok().eTag(NoteETag.of(note.noteVersion())).body(note);
     }
 
     @DeleteMapping("/{id}")
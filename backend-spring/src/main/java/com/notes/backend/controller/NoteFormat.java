@@ -0,0 +1,22 @@
+package com.notes.backend.controller;
+
+/**
+ * Format du contenu renvoyé pour une note : md (markdown brut) ou html (rendu assaini côté serveur)
+ */
+final class NoteFormat {
+
+    private NoteFormat() {}
+
+    /**
+     * Vrai si le format demandé est html
+     */
+    static boolean isHtml(String format) {
+        if ("html".equalsIgnoreCase(format)) {
+            return true;
+        }
+        if (!"md".equalsIgnoreCase(format)) {
+            throw new RuntimeException("Invalid format: expected 'md' or 'html'");
+        }
+        return false;
+    }
+}
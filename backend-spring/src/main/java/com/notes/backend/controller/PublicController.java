@@ -1,14 +1,23 @@
 package com.notes.backend.controller;
 
-import com.notes.backend.dto.NoteResponse;
-import com.notes.backend.model.Note;
+import com.notes.backend.dto.PublicNoteResponse;
+import com.notes.backend.dto.NoteVersion;
+import com.notes.backend.dto.PublicNoteVersion;
+import com.notes.backend.service.NoteETag;
+import com.notes.backend.service.PublicNoteCache;
 import com.notes.backend.service.ShareService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
@@ -25,24 +34,67 @@ public class PublicController {
     @Autowired
     private ShareService shareService;
 
+    @Autowired
+    private PublicNoteCache publicNoteCache;
+
     @GetMapping("/{urlToken}")
     @Operation(summary = "Accède à une note publique via son token")
     @ApiResponses(value = {
-        @ApiResponse(responseCode = "200", description = "Note récupérée avec succès"),
-        @ApiResponse(responseCode = "404", description = "Note non trouvée ou non publique"),
-        @ApiResponse(responseCode = "410", description = "Lien expiré")
+        @ApiResponse(responseCode = "200", description = "Note récupérée avec succès",
+                content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE, schema = @Schema(implementation = PublicNoteResponse.class))),
+        @ApiResponse(responseCode = "304", description = "Note inchangée depuis l'ETag ou la date fournis"),
+        @ApiResponse(responseCode = "404", description = "Lien inconnu ou expiré")
     })
-    public ResponseEntity<NoteResponse> getPublicNote(
-            @Parameter(description = "Token URL de la note publique") @PathVariable String urlToken) {
+    public ResponseEntity<byte[]> getPublicNote(
+            @Parameter(description = "Token URL de la note publique") @PathVariable String urlToken,
+            @Parameter(description = "Format du contenu : md (markdown) ou html (rendu assaini)") @RequestParam(defaultValue = "md") String format,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+            @RequestHeader(value = HttpHeaders.IF_MODIFIED_SINCE, required = false) String ifModifiedSince) {
+
+        boolean html = NoteFormat.isHtml(format);
+        boolean conditional = ifNoneMatch != null || ifModifiedSince != null;
+        String key = PublicNoteCache.key(urlToken, html);
+        PublicNoteCache.Entry entry = publicNoteCache.get(key);
 
-        Optional<Note> noteOptional = shareService.getPublicNote(urlToken);
-        
-        if (noteOptional.isEmpty()) {
-            return ResponseEntity.notFound().build();
+        // Hors cache, une requête conditionnelle ne lit que la version tant que la note n'a pas changé
+        if (entry == null && conditional) {
+            Optional<PublicNoteVersion> current = shareService.getPublicNoteVersion(urlToken);
+            if (current.isEmpty()) {
+                return ResponseEntity.notFound().build();
+            }
+            NoteVersion version = current.get().version();
+            if (NoteETag.isNotModified(ifNoneMatch, ifModifiedSince, version)) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                        .eTag(NoteETag.of(version))
+                        .lastModified(version.lastModified())
+                        .cacheControl(CacheControl.maxAge(publicNoteCache.maxAge(current.get())).cachePublic())
+                        .build();
+            }
         }
 
-        Note note = noteOptional.get();
-        NoteResponse response = new NoteResponse(note);
-        return ResponseEntity.ok(response);
+        if (entry == null) {
+            Optional<PublicNoteCache.Entry> loaded = publicNoteCache.load(key,
+                    load -> shareService.loadPublicNote(urlToken, html, load));
+            if (loaded.isEmpty()) {
+                return ResponseEntity.notFound().build();
+            }
+            entry = loaded.get();
+        }
+
+        // Les caches HTTP partagés peuvent servir la note pendant le TTL (borné par l'expiration du lien)
+        CacheControl cacheControl = CacheControl.maxAge(publicNoteCache.maxAge(entry)).cachePublic();
+        if (conditional && NoteETag.isNotModified(ifNoneMatch, ifModifiedSince, entry.version())) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(NoteETag.of(entry.version()))
+                    .lastModified(entry.version().lastModified())
+                    .cacheControl(cacheControl)
+                    .build();
+        }
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .eTag(NoteETag.of(entry.version()))
+                .lastModified(entry.version().lastModified())
+                .cacheControl(cacheControl)
+                .body(entry.body());
     }
 }
@@ -0,0 +1,56 @@
+package com.notes.backend.controller;
+
+import com.notes.backend.dto.NoteResponse;
+import com.notes.backend.dto.TagUsageResponse;
+import com.notes.backend.service.TagService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+/**
+ * Contrôleur pour la consultation des tags
+ */
+@RestController
+@RequestMapping("/tags")
+@Tag(name = "Tags", description = "API de consultation des tags")
+public class TagController {
+
+    @Autowired
+    private TagService tagService;
+
+    @GetMapping("/autocomplete")
+    @Operation(summary = "Suggère des tags commençant par un préfixe")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Suggestions triées par ordre alphabétique"),
+        @ApiResponse(responseCode = "400", description = "Paramètres invalides")
+    })
+    public ResponseEntity<List<NoteResponse.TagResponse>> autocomplete(
+            @Parameter(description = "Début du label (casse et accents ignorés)") @RequestParam String prefix,
+            @Parameter(description = "Nombre maximal de suggestions") @RequestParam(defaultValue = "10") int limit) {
+
+        return ResponseEntity.ok(tagService.autocomplete(prefix, limit));
+    }
+
+    @GetMapping("/top")
+    @Operation(summary = "Tags les plus utilisés (nuage de tags)")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Tags triés par nombre de notes décroissant"),
+        @ApiResponse(responseCode = "400", description = "Paramètres invalides")
+    })
+    public ResponseEntity<List<TagUsageResponse>> getTopTags(
+            @Parameter(description = "Nombre de tags") @RequestParam(defaultValue = "20") int limit,
+            @Parameter(description = "Portée : user (mes notes) ou all") @RequestParam(defaultValue = "user") String scope,
+            Authentication authentication) {
+
+        String userEmail = authentication.getName();
+        return ResponseEntity.ok(tagService.getTopTags(userEmail, scope, limit));
+    }
+}
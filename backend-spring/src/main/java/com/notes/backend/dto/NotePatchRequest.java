@@ -0,0 +1,140 @@
+package com.notes.backend.dto;
+
+import com.notes.backend.model.Note;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+import java.util.Set;
+
+/**
+ * DTO pour la modification partielle d'une note : seuls les champs renseignés sont appliqués.
+ * Le contenu peut être envoyé en entier (contentMd) ou sous forme de remplacements
+ * de plages (contentEdits) calculés sur la version baseVersion.
+ */
+public class NotePatchRequest {
+
+    // Facultatif, mais jamais vide s'il est fourni (même règle que NoteRequest)
+    @Pattern(regexp = ".*\\S.*", flags = Pattern.Flag.DOTALL, message = "Title is required")
+    @Size(min = 3, max = 255, message = "Title must be between 3 and 255 characters")
+    private String title;
+
+    @Size(max = 50000, message = "Content must not exceed 50,000 characters")
+    private String contentMd;
+
+    private Note.Visibility visibility;
+
+    private Set<String> tags;
+
+    @Valid
+    @Size(max = 1000, message = "At most 1000 content edits per request")
+    private List<ContentEdit> contentEdits;
+
+    private Long baseVersion;
+
+    // Constructeurs
+    public NotePatchRequest() {}
+
+    // Getters et Setters
+    public String getTitle() {
+        return title;
+    }
+
+    public void setTitle(String title) {
+        this.title = title;
+    }
+
+    public String getContentMd() {
+        return contentMd;
+    }
+
+    public void setContentMd(String contentMd) {
+        this.contentMd = contentMd;
+    }
+
+    public Note.Visibility getVisibility() {
+        return visibility;
+    }
+
+    public void setVisibility(Note.Visibility visibility) {
+        this.visibility = visibility;
+    }
+
+    public Set<String> getTags() {
+        return tags;
+    }
+
+    public void setTags(Set<String> tags) {
+        this.tags = tags;
+    }
+
+    public List<ContentEdit> getContentEdits() {
+        return contentEdits;
+    }
+
+    public void setContentEdits(List<ContentEdit> contentEdits) {
+        this.contentEdits = contentEdits;
+    }
+
+    public Long getBaseVersion() {
+        return baseVersion;
+    }
+
+    public void setBaseVersion(Long baseVersion) {
+        this.baseVersion = baseVersion;
+    }
+
+    /**
+     * Remplacement de la plage [start, end) du contenu de base par text.
+     * Les positions sont des indices de caractères UTF-16 (comme en Java et JavaScript).
+     */
+    public static class ContentEdit {
+
+        @NotNull(message = "Edit start is required")
+        @Min(value = 0, message = "Edit start must not be negative")
+        private Integer start;
+
+        @NotNull(message = "Edit end is required")
+        @Min(value = 0, message = "Edit end must not be negative")
+        private Integer end;
+
+        @Size(max = 50000, message = "Edit text must not exceed 50,000 characters")
+        private String text;
+
+        public ContentEdit() {}
+
+        public ContentEdit(Integer start, Integer end, String text) {
+            this.start = start;
+            this.end = end;
+            this.text = text;
+        }
+
+        // Getters et Setters
+        public Integer getStart() {
+            return start;
+        }
+
+        public void setStart(Integer start) {
+            this.start = start;
+        }
+
+        public Integer getEnd() {
+            return end;
+        }
+
+        public void setEnd(Integer end) {
+            this.end = end;
+        }
+
+        public String getText() {
+            return text;
+        }
+
+        public void setText(String text) {
+            this.text = text;
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package com.notes.backend.dto;
+
+import com.notes.backend.model.Note;
+
+import java.time.LocalDateTime;
+
+/**
+ * Réponse minimale à une modification partielle (sauvegarde automatique)
+ */
+public class NotePatchResponse {
+
+    private Long id;
+    private Long version;
+    private LocalDateTime updatedAt;
+
+    // Partages : non sérialisés, combinés à la version dans l'ETag
+    private Long sharingVersion;
+    private LocalDateTime sharingUpdatedAt;
+
+    // Constructeurs
+    public NotePatchResponse() {}
+
+    public NotePatchResponse(Note note) {
+        this.id = note.getId();
+        this.version = note.getVersion();
+        this.updatedAt = note.getUpdatedAt();
+        this.sharingVersion = note.getSharingVersion();
+        this.sharingUpdatedAt = note.getSharingUpdatedAt();
+    }
+
+    /**
+     * Version du contenu et des partages (ETag)
+     */
+    public NoteVersion noteVersion() {
+        return new NoteVersion(version, sharingVersion, updatedAt, sharingUpdatedAt);
+    }
+
+    // Getters et Setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(LocalDateTime updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+}
@@ -1,5 +1,6 @@
 package com.notes.backend.dto;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import com.notes.backend.model.Note;
 import com.notes.backend.model.Tag;
 
@@ -18,10 +19,25 @@ public class NoteResponse {
     private Note.Visibility visibility;
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
+    private Long version;
     private UserResponse owner;
     private Set<TagResponse> tags;
     private Set<ShareResponse> shares;
 
+    // Partages : non sérialisés, combinés à la version dans l'ETag
+    private Long sharingVersion;
+    private LocalDateTime sharingUpdatedAt;
+
+    // Renseignés uniquement pour les résultats de recherche
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Float score;
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private String highlight;
+
+    // Renseigné uniquement pour le format html (le markdown n'est alors pas renvoyé)
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private String contentHtml;
+
     // Constructeurs
     public NoteResponse() {}
 
@@ -32,6 +48,9 @@ public class NoteResponse {
         this.visibility = note.getVisibility();
         this.createdAt = note.getCreatedAt();
         this.updatedAt = note.getUpdatedAt();
+        this.version = note.getVersion();
+        this.sharingVersion = note.getSharingVersion();
+        this.sharingUpdatedAt = note.getSharingUpdatedAt();
         this.owner = new UserResponse(note.getOwner());
         this.tags = note.getNoteTags().stream()
                 .map(noteTag -> new TagResponse(noteTag.getTag()))
@@ -41,6 +60,13 @@ public class NoteResponse {
                 .collect(Collectors.toSet());
     }
 
+    /**
+     * Version du contenu et des partages (ETag, Last-Modified)
+     */
+    public NoteVersion noteVersion() {
+        return new NoteVersion(version, sharingVersion, updatedAt, sharingUpdatedAt);
+    }
+
     // Getters et Setters
     public Long getId() {
         return id;
@@ -90,6 +116,14 @@ public class NoteResponse {
         this.updatedAt = updatedAt;
     }
 
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
     public UserResponse getOwner() {
         return owner;
     }
@@ -114,6 +148,30 @@ public class NoteResponse {
         this.shares = shares;
     }
 
+    public Float getScore() {
+        return score;
+    }
+
+    public void setScore(Float score) {
+        this.score = score;
+    }
+
+    public String getHighlight() {
+        return highlight;
+    }
+
+    public void setHighlight(String highlight) {
+        this.highlight = highlight;
+    }
+
+    public String getContentHtml() {
+        return contentHtml;
+    }
+
+    public void setContentHtml(String contentHtml) {
+        this.contentHtml = contentHtml;
+    }
+
     /**
      * DTO pour les informations utilisateur
      */
@@ -170,6 +228,11 @@ public class NoteResponse {
             this.label = tag.getLabel();
         }
 
+        public TagResponse(Long id, String label) {
+            this.id = id;
+            this.label = label;
+        }
+
         // Getters et Setters
         public Long getId() {
             return id;
@@ -0,0 +1,123 @@
+package com.notes.backend.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.notes.backend.model.Note;
+import com.notes.backend.search.PlainText;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Projection légère d'une note pour les listes (sans contenu complet ni partages)
+ */
+public class NoteSummary {
+
+    // Nombre de caractères du contenu lus en base pour construire l'extrait
+    public static final int CONTENT_HEAD_LENGTH = 300;
+    private static final int EXCERPT_LENGTH = 160;
+
+    private Long id;
+    private String title;
+    private Note.Visibility visibility;
+    private LocalDateTime updatedAt;
+    private List<String> tags = new ArrayList<>();
+    private String excerpt;
+
+    // Renseignés uniquement pour les résultats de recherche
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Float score;
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private String highlight;
+
+    // Constructeurs
+    public NoteSummary() {}
+
+    /**
+     * Constructeur utilisé par les requêtes JPQL (expression constructeur)
+     */
+    public NoteSummary(Long id, String title, Note.Visibility visibility, LocalDateTime updatedAt, String contentHead) {
+        this.id = id;
+        this.title = title;
+        this.visibility = visibility;
+        this.updatedAt = updatedAt;
+        this.excerpt = toExcerpt(contentHead);
+    }
+
+    /**
+     * Construit un extrait en texte brut (sans HTML, URL ni syntaxe markdown) à partir du début du contenu
+     */
+    private static String toExcerpt(String contentHead) {
+        String text = PlainText.fromMarkdown(contentHead);
+        if (text.length() <= EXCERPT_LENGTH) {
+            return text;
+        }
+        int cut = text.lastIndexOf(' ', EXCERPT_LENGTH);
+        return text.substring(0, cut > 0 ? cut : EXCERPT_LENGTH) + "…";
+    }
+
+    // Getters et Setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public void setTitle(String title) {
+        this.title = title;
+    }
+
+    public Note.Visibility getVisibility() {
+        return visibility;
+    }
+
+    public void setVisibility(Note.Visibility visibility) {
+        this.visibility = visibility;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(LocalDateTime updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+
+    public List<String> getTags() {
+        return tags;
+    }
+
+    public void setTags(List<String> tags) {
+        this.tags = tags;
+    }
+
+    public String getExcerpt() {
+        return excerpt;
+    }
+
+    public void setExcerpt(String excerpt) {
+        this.excerpt = excerpt;
+    }
+
+    public Float getScore() {
+        return score;
+    }
+
+    public void setScore(Float score) {
+        this.score = score;
+    }
+
+    public String getHighlight() {
+        return highlight;
+    }
+
+    public void setHighlight(String highlight) {
+        this.highlight = highlight;
+    }
+}
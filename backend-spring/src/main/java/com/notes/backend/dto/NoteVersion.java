@@ -0,0 +1,22 @@
+package com.notes.backend.dto;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+/**
+ * Version et date de modification d'une note, lues sans charger son contenu (requêtes conditionnelles).
+ * Les partages ont leur propre compteur et leur propre date, combinés dans l'ETag et Last-Modified.
+ */
+public record NoteVersion(Long version, Long sharingVersion, LocalDateTime updatedAt, LocalDateTime sharingUpdatedAt) {
+
+    /**
+     * Date de la dernière modification du contenu ou des partages, en temps absolu (Last-Modified)
+     */
+    public Instant lastModified() {
+        LocalDateTime latest = sharingUpdatedAt != null && (updatedAt == null || sharingUpdatedAt.isAfter(updatedAt))
+                ? sharingUpdatedAt
+                : updatedAt;
+        return latest != null ? latest.atZone(ZoneId.systemDefault()).toInstant() : null;
+    }
+}
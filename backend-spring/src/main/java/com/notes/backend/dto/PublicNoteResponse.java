@@ -0,0 +1,93 @@
+package com.notes.backend.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Vue publique d'une note (lien public) : ni partages, ni emails, ni identifiants internes
+ */
+public class PublicNoteResponse {
+
+    private String title;
+    // Un seul des deux contenus est renvoyé selon le format demandé (md ou html)
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private String contentMd;
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private String contentHtml;
+    private String author;
+    private List<String> tags = new ArrayList<>();
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+
+    // Constructeurs
+    public PublicNoteResponse() {}
+
+    public PublicNoteResponse(String title, String contentMd, String author,
+                              LocalDateTime createdAt, LocalDateTime updatedAt) {
+        this.title = title;
+        this.contentMd = contentMd;
+        this.author = author;
+        this.createdAt = createdAt;
+        this.updatedAt = updatedAt;
+    }
+
+    // Getters et Setters
+    public String getTitle() {
+        return title;
+    }
+
+    public void setTitle(String title) {
+        this.title = title;
+    }
+
+    public String getContentMd() {
+        return contentMd;
+    }
+
+    public void setContentMd(String contentMd) {
+        this.contentMd = contentMd;
+    }
+
+    public String getContentHtml() {
+        return contentHtml;
+    }
+
+    public void setContentHtml(String contentHtml) {
+        this.contentHtml = contentHtml;
+    }
+
+    public String getAuthor() {
+        return author;
+    }
+
+    public void setAuthor(String author) {
+        this.author = author;
+    }
+
+    public List<String> getTags() {
+        return tags;
+    }
+
+    public void setTags(List<String> tags) {
+        this.tags = tags;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(LocalDateTime updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+}
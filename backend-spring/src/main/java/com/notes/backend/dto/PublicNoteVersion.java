@@ -0,0 +1,14 @@
+package com.notes.backend.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * Version de la note d'un lien public et expiration du lien (requêtes conditionnelles hors cache)
+ */
+public record PublicNoteVersion(NoteVersion version, LocalDateTime linkExpiresAt) {
+
+    public PublicNoteVersion(Long version, Long sharingVersion, LocalDateTime updatedAt,
+                             LocalDateTime sharingUpdatedAt, LocalDateTime linkExpiresAt) {
+        this(new NoteVersion(version, sharingVersion, updatedAt, sharingUpdatedAt), linkExpiresAt);
+    }
+}
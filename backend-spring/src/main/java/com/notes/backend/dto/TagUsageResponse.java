@@ -0,0 +1,45 @@
+package com.notes.backend.dto;
+
+/**
+ * DTO d'usage d'un tag (nombre de notes qui le portent)
+ */
+public class TagUsageResponse {
+
+    private Long id;
+    private String label;
+    private long count;
+
+    // Constructeurs
+    public TagUsageResponse() {}
+
+    public TagUsageResponse(Long id, String label, long count) {
+        this.id = id;
+        this.label = label;
+        this.count = count;
+    }
+
+    // Getters et Setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getLabel() {
+        return label;
+    }
+
+    public void setLabel(String label) {
+        this.label = label;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public void setCount(long count) {
+        this.count = count;
+    }
+}
@@ -0,0 +1,18 @@
+package com.notes.backend.exception;
+
+/**
+ * Levée lorsqu'une précondition HTTP (If-Match) ne correspond plus à l'état de la ressource
+ */
+public class PreconditionFailedException extends RuntimeException {
+
+    private final String currentETag;
+
+    public PreconditionFailedException(String message, String currentETag) {
+        super(message);
+        this.currentETag = currentETag;
+    }
+
+    public String getCurrentETag() {
+        return currentETag;
+    }
+}
@@ -0,0 +1,18 @@
+package com.notes.backend.exception;
+
+/**
+ * Levée lorsqu'une ressource saturée refuse une requête ; le client peut réessayer plus tard
+ */
+public class ServiceBusyException extends RuntimeException {
+
+    private final long retryAfterSeconds;
+
+    public ServiceBusyException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
@@ -3,6 +3,7 @@ package com.notes.backend.model;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Size;
+import org.hibernate.annotations.DynamicUpdate;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.LastModifiedDate;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
@@ -15,12 +16,16 @@ import java.util.Set;
  * Entité Note représentant une note dans l'application
  */
 @Entity
-@Table(name = "notes")
+@Table(name = "notes", indexes = {
+        @Index(name = "idx_notes_owner_updated", columnList = "owner_id, updated_at")
+})
 @EntityListeners(AuditingEntityListener.class)
+@DynamicUpdate
 public class Note {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "notes_seq")
+    @SequenceGenerator(name = "notes_seq", sequenceName = "notes_seq", allocationSize = 50)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
@@ -48,6 +53,18 @@ public class Note {
     @Column(name = "updated_at")
     private LocalDateTime updatedAt;
 
+    // Incrémentée à chaque modification : verrouillage optimiste et ETag
+    @Version
+    @Column(nullable = false)
+    private Long version;
+
+    // Incrémentée par NoteRepository.updateSharing (partages, liens, visibilité) sans toucher à la version
+    @Column(name = "sharing_version", nullable = false, insertable = false, updatable = false)
+    private Long sharingVersion = 0L;
+
+    @Column(name = "sharing_updated_at", insertable = false, updatable = false)
+    private LocalDateTime sharingUpdatedAt;
+
     // Relations
     @OneToMany(mappedBy = "note", cascade = {CascadeType.ALL, CascadeType.REMOVE}, fetch = FetchType.LAZY, orphanRemoval = true)
     private Set<NoteTag> noteTags = new HashSet<>();
@@ -147,6 +164,22 @@ public class Note {
         this.updatedAt = updatedAt;
     }
 
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
+    public Long getSharingVersion() {
+        return sharingVersion;
+    }
+
+    public LocalDateTime getSharingUpdatedAt() {
+        return sharingUpdatedAt;
+    }
+
     public Set<NoteTag> getNoteTags() {
         return noteTags;
     }
@@ -0,0 +1,149 @@
+package com.notes.backend.model;
+
+import jakarta.persistence.*;
+import org.springframework.data.domain.Persistable;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+import java.util.Objects;
+
+/**
+ * Liste d'accès matérialisée : une ligne par note visible d'un utilisateur (propriétaire ou partage).
+ * Dénormalise la date de modification de la note pour que les listes et les contrôles d'accès
+ * soient un simple parcours de l'index (user_id, updated_at), sans OR entre notes et partages.
+ * Maintenue par NoteService et ShareService.
+ */
+@Entity
+@Table(name = "note_access", indexes = {
+        @Index(name = "idx_note_access_user_updated", columnList = "user_id, updated_at DESC, note_id DESC"),
+        @Index(name = "idx_note_access_user_role_updated", columnList = "user_id, role, updated_at DESC, note_id DESC"),
+        @Index(name = "idx_note_access_note", columnList = "note_id")
+})
+@IdClass(NoteAccess.Key.class)
+public class NoteAccess implements Persistable<NoteAccess.Key> {
+
+    @Id
+    @Column(name = "user_id")
+    private Long userId;
+
+    @Id
+    @Column(name = "note_id")
+    private Long noteId;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "user_id", insertable = false, updatable = false)
+    private User user;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "note_id", insertable = false, updatable = false)
+    private Note note;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 16)
+    private Role role;
+
+    // Copie de notes.updated_at, mise à jour à chaque modification de la note
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+    // Les lignes sont créées avec leur clé : insérées directement, sans SELECT préalable
+    @Transient
+    private boolean newEntry = true;
+
+    // Enum pour le rôle de l'utilisateur sur la note
+    public enum Role {
+        OWNER,
+        READ;
+
+        public static Role of(Share.Permission permission) {
+            return Role.valueOf(permission.name());
+        }
+    }
+
+    // Constructeurs
+    public NoteAccess() {}
+
+    public NoteAccess(User user, Note note, Role role) {
+        this.userId = user.getId();
+        this.noteId = note.getId();
+        this.role = role;
+        this.updatedAt = note.getUpdatedAt();
+    }
+
+    @PostLoad
+    @PostPersist
+    void markNotNew() {
+        this.newEntry = false;
+    }
+
+    @Override
+    public Key getId() {
+        return new Key(userId, noteId);
+    }
+
+    @Override
+    public boolean isNew() {
+        return newEntry;
+    }
+
+    // Getters et Setters
+    public Long getUserId() {
+        return userId;
+    }
+
+    public Long getNoteId() {
+        return noteId;
+    }
+
+    public User getUser() {
+        return user;
+    }
+
+    public Note getNote() {
+        return note;
+    }
+
+    public Role getRole() {
+        return role;
+    }
+
+    public void setRole(Role role) {
+        this.role = role;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(LocalDateTime updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+
+    /**
+     * Clé composite (user_id, note_id)
+     */
+    public static class Key implements Serializable {
+
+        private Long userId;
+        private Long noteId;
+
+        public Key() {}
+
+        public Key(Long userId, Long noteId) {
+            this.userId = userId;
+            this.noteId = noteId;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Key key)) return false;
+            return Objects.equals(userId, key.userId) && Objects.equals(noteId, key.noteId);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(userId, noteId);
+        }
+    }
+}
@@ -10,12 +10,16 @@ import java.time.LocalDateTime;
  * Entité de liaison entre Note et Tag (relation many-to-many)
  */
 @Entity
-@Table(name = "note_tags")
+@Table(name = "note_tags", indexes = {
+        @Index(name = "idx_note_tags_tag_note", columnList = "tag_id, note_id"),
+        @Index(name = "idx_note_tags_note", columnList = "note_id")
+})
 @EntityListeners(AuditingEntityListener.class)
 public class NoteTag {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "note_tags_seq")
+    @SequenceGenerator(name = "note_tags_seq", sequenceName = "note_tags_seq", allocationSize = 50)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
@@ -10,12 +10,16 @@ import java.time.LocalDateTime;
  * Entité PublicLink représentant un lien public pour accéder à une note
  */
 @Entity
-@Table(name = "public_links")
+@Table(name = "public_links", indexes = {
+        @Index(name = "idx_public_links_expires", columnList = "expires_at"),
+        @Index(name = "idx_public_links_note", columnList = "note_id")
+})
 @EntityListeners(AuditingEntityListener.class)
 public class PublicLink {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "public_links_seq")
+    @SequenceGenerator(name = "public_links_seq", sequenceName = "public_links_seq", allocationSize = 50)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
@@ -10,12 +10,16 @@ import java.time.LocalDateTime;
  * Entité Share représentant le partage d'une note avec un utilisateur
  */
 @Entity
-@Table(name = "shares")
+@Table(name = "shares", indexes = {
+        @Index(name = "idx_shares_user_note", columnList = "shared_with_user_id, note_id"),
+        @Index(name = "idx_shares_note", columnList = "note_id")
+})
 @EntityListeners(AuditingEntityListener.class)
 public class Share {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "shares_seq")
+    @SequenceGenerator(name = "shares_seq", sequenceName = "shares_seq", allocationSize = 50)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
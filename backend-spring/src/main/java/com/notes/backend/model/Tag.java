@@ -1,5 +1,6 @@
 package com.notes.backend.model;
 
+import com.notes.backend.search.TextNormalizer;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Size;
@@ -19,7 +20,8 @@ import java.util.Set;
 public class Tag {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "tags_seq")
+    @SequenceGenerator(name = "tags_seq", sequenceName = "tags_seq", allocationSize = 50)
     private Long id;
 
     @NotBlank(message = "Tag label is required")
@@ -27,6 +29,10 @@ public class Tag {
     @Column(unique = true, nullable = false)
     private String label;
 
+    // Label replié (minuscules, sans accents ni espaces superflus) : clé d'unicité et de recherche
+    @Column(name = "label_normalized", unique = true, nullable = false, length = 100)
+    private String labelNormalized;
+
     @CreatedDate
     @Column(name = "created_at", nullable = false, updatable = false)
     private LocalDateTime createdAt;
@@ -43,6 +49,19 @@ public class Tag {
     }
 
     // Méthodes utilitaires
+    @PrePersist
+    @PreUpdate
+    void normalizeLabel() {
+        this.labelNormalized = label != null ? normalizeLabel(label) : null;
+    }
+
+    /**
+     * Forme canonique d'un label, utilisée pour l'unicité et les recherches insensibles à la casse
+     */
+    public static String normalizeLabel(String label) {
+        return TextNormalizer.fold(label.trim());
+    }
+
     public void addNote(Note note) {
         NoteTag noteTag = new NoteTag(note, this);
         this.noteTags.add(noteTag);
@@ -74,6 +93,10 @@ public class Tag {
         this.label = label;
     }
 
+    public String getLabelNormalized() {
+        return labelNormalized;
+    }
+
     public LocalDateTime getCreatedAt() {
         return createdAt;
     }
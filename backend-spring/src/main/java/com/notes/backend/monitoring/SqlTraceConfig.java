@@ -0,0 +1,18 @@
+package com.notes.backend.monitoring;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Branche la trace SQL échantillonnée sur Hibernate
+ */
+@Configuration
+public class SqlTraceConfig {
+
+    @Bean
+    public HibernatePropertiesCustomizer sqlTraceStatementInspector(SqlTraceSampler sqlTraceSampler) {
+        return properties -> properties.put(AvailableSettings.STATEMENT_INSPECTOR, sqlTraceSampler);
+    }
+}
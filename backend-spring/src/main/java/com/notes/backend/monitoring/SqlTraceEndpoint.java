@@ -0,0 +1,38 @@
+package com.notes.backend.monitoring;
+
+import org.springframework.boot.actuate.endpoint.InvalidEndpointRequestException;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+/**
+ * Endpoint actuator de la trace SQL échantillonnée.
+ * GET /actuator/sqltrace : état ; POST /actuator/sqltrace {"enabled": true, "sampleRate": 50} : reconfiguration.
+ */
+@Component
+@Endpoint(id = "sqltrace")
+public class SqlTraceEndpoint {
+
+    private final SqlTraceSampler sqlTraceSampler;
+
+    public SqlTraceEndpoint(SqlTraceSampler sqlTraceSampler) {
+        this.sqlTraceSampler = sqlTraceSampler;
+    }
+
+    @ReadOperation
+    public SqlTraceSampler.Status status() {
+        return sqlTraceSampler.status();
+    }
+
+    @WriteOperation
+    public SqlTraceSampler.Status configure(@Nullable Boolean enabled, @Nullable Integer sampleRate) {
+        try {
+            sqlTraceSampler.configure(enabled, sampleRate);
+        } catch (IllegalArgumentException e) {
+            throw new InvalidEndpointRequestException(e.getMessage(), e.getMessage());
+        }
+        return sqlTraceSampler.status();
+    }
+}
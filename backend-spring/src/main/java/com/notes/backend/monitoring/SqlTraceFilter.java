@@ -0,0 +1,43 @@
+package com.notes.backend.monitoring;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Ouvre et ferme la trace SQL des requêtes échantillonnées.
+ * Placé avant la chaîne de sécurité pour couvrir aussi les accès faits pendant l'authentification.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class SqlTraceFilter extends OncePerRequestFilter {
+
+    @Autowired
+    private SqlTraceSampler sqlTraceSampler;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+
+        if (!sqlTraceSampler.begin()) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        long start = System.nanoTime();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            sqlTraceSampler.end(request.getMethod(), request.getRequestURI(), response.getStatus(),
+                    System.nanoTime() - start);
+        }
+    }
+}
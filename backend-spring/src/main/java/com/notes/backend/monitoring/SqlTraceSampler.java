@@ -0,0 +1,104 @@
+package com.notes.backend.monitoring;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Trace SQL échantillonnée : une requête HTTP sur N voit ses ordres SQL journalisés en un seul message.
+ * Seul le texte SQL est tracé (paramètres "?"), jamais les valeurs liées.
+ * Désactivée par défaut ; activable à chaud via l'endpoint actuator sqltrace.
+ */
+@Component
+public class SqlTraceSampler implements StatementInspector {
+
+    private static final Logger log = LoggerFactory.getLogger(SqlTraceSampler.class);
+
+    private static final int MAX_STATEMENTS_PER_REQUEST = 200;
+
+    // Ordres SQL de la requête en cours, uniquement si elle est échantillonnée
+    private final ThreadLocal<List<String>> statements = new ThreadLocal<>();
+
+    private volatile boolean enabled;
+    private volatile int sampleRate;
+
+    private final AtomicLong seenRequests = new AtomicLong();
+    private final AtomicLong tracedRequests = new AtomicLong();
+
+    public SqlTraceSampler(@Value("${sql-trace.enabled:false}") boolean enabled,
+                           @Value("${sql-trace.sample-rate:100}") int sampleRate) {
+        configure(enabled, sampleRate);
+    }
+
+    /**
+     * Décide si la requête qui commence est tracée ; si oui, la trace est ouverte pour ce thread
+     */
+    public boolean begin() {
+        if (!enabled || seenRequests.incrementAndGet() % sampleRate != 0) {
+            return false;
+        }
+        statements.set(new ArrayList<>());
+        return true;
+    }
+
+    /**
+     * Ferme la trace de la requête et la journalise
+     */
+    public void end(String method, String uri, int status, long elapsedNanos) {
+        List<String> traced = statements.get();
+        statements.remove();
+        if (traced == null) {
+            return;
+        }
+        tracedRequests.incrementAndGet();
+
+        StringBuilder message = new StringBuilder(64 + traced.size() * 80)
+                .append(method).append(' ').append(uri)
+                .append(" -> ").append(status)
+                .append(" in ").append(elapsedNanos / 1_000_000).append(" ms, ")
+                .append(traced.size()).append(" statement(s)");
+        for (String sql : traced) {
+            message.append("\n  ").append(sql);
+        }
+        log.info(message.toString());
+    }
+
+    @Override
+    public String inspect(String sql) {
+        List<String> traced = statements.get();
+        if (traced != null && traced.size() < MAX_STATEMENTS_PER_REQUEST) {
+            traced.add(sql);
+        }
+        return sql;
+    }
+
+    /**
+     * Modifie l'activation et/ou le taux d'échantillonnage (null : inchangé)
+     */
+    public synchronized void configure(Boolean enabled, Integer sampleRate) {
+        if (sampleRate != null) {
+            if (sampleRate < 1) {
+                throw new IllegalArgumentException("Invalid sample rate: must be at least 1");
+            }
+            this.sampleRate = sampleRate;
+        }
+        if (enabled != null) {
+            this.enabled = enabled;
+        }
+    }
+
+    public Status status() {
+        return new Status(enabled, sampleRate, seenRequests.get(), tracedRequests.get());
+    }
+
+    /**
+     * État de la trace SQL
+     */
+    public record Status(boolean enabled, int sampleRate, long sampledFrom, long tracedRequests) {}
+}
@@ -0,0 +1,51 @@
+package com.notes.backend.repository;
+
+import com.notes.backend.model.NoteAccess;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Repository pour la liste d'accès matérialisée des notes
+ */
+@Repository
+public interface NoteAccessRepository extends JpaRepository<NoteAccess, NoteAccess.Key> {
+
+    /**
+     * Reporte la date de modification d'une note sur toutes ses lignes d'accès
+     */
+    @Modifying
+    @Query("UPDATE NoteAccess a SET a.updatedAt = :updatedAt WHERE a.noteId = :noteId")
+    int updateUpdatedAt(@Param("noteId") Long noteId, @Param("updatedAt") LocalDateTime updatedAt);
+
+    /**
+     * Retire l'accès d'un utilisateur à une note
+     */
+    @Modifying
+    @Query("DELETE FROM NoteAccess a WHERE a.noteId = :noteId AND a.userId = :userId")
+    int deleteByNoteIdAndUserId(@Param("noteId") Long noteId, @Param("userId") Long userId);
+
+    /**
+     * Retire tous les accès à une note (avant sa suppression)
+     */
+    @Modifying
+    @Query("DELETE FROM NoteAccess a WHERE a.noteId = :noteId")
+    int deleteByNoteId(@Param("noteId") Long noteId);
+
+    /**
+     * Parcourt les partages en lecture par (utilisateur, note) croissants pour construire l'index de recherche
+     */
+    @Query("SELECT a.userId, a.noteId FROM NoteAccess a " +
+           "WHERE a.role = com.notes.backend.model.NoteAccess$Role.READ " +
+           "AND (a.userId > :afterUserId OR (a.userId = :afterUserId AND a.noteId > :afterNoteId)) " +
+           "ORDER BY a.userId, a.noteId")
+    List<Object[]> findReadAccessAfter(@Param("afterUserId") Long afterUserId,
+                                       @Param("afterNoteId") Long afterNoteId,
+                                       Pageable pageable);
+}
@@ -1,23 +1,68 @@
 package com.notes.backend.repository;
 
+import com.notes.backend.dto.NoteSummary;
+import com.notes.backend.dto.NoteVersion;
 import com.notes.backend.model.Note;
 import com.notes.backend.model.User;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 /**
  * Repository pour l'entité Note
+ *
+ * Plans de chargement : les listes joignent le propriétaire, le détail joint aussi les tags.
+ * Les autres collections (partages, tags des listes) sont chargées par lots
+ * (hibernate.default_batch_fetch_size) pour borner le nombre de requêtes par page.
  */
 @Repository
 public interface NoteRepository extends JpaRepository<Note, Long> {
 
+    /**
+     * Projection des listes : seul le début du contenu est lu pour construire l'extrait
+     */
+    String SUMMARY_SELECT = "SELECT new com.notes.backend.dto.NoteSummary(n.id, n.title, n.visibility, n.updatedAt, " +
+            "SUBSTRING(n.contentMd, 1, " + NoteSummary.CONTENT_HEAD_LENGTH + ")) ";
+
+    /**
+     * Notes possédées ou partagées avec :user (liste d'accès matérialisée), filtrées par visibilité et tag
+     */
+    String USER_FILTERS = "FROM Note n JOIN NoteAccess a ON a.note = n " +
+            "WHERE a.user = :user " +
+            "AND (:visibility IS NULL OR n.visibility = :visibility) " +
+            "AND (:tagLabel IS NULL OR EXISTS (SELECT nt FROM NoteTag nt WHERE nt.note = n AND nt.tag.label = :tagLabel)) ";
+
+    /**
+     * Notes partagées avec :user (lignes READ de la liste d'accès), servies par l'index
+     * (user_id, role, updated_at DESC, note_id DESC)
+     */
+    String SHARED_WITH_USER = "FROM Note n JOIN NoteAccess a ON a.note = n " +
+            "WHERE a.user = :user AND a.role = com.notes.backend.model.NoteAccess$Role.READ ";
+
+    /**
+     * Pagination par curseur sur la liste d'accès : notes strictement après (updatedAt, id),
+     * triées en ordre décroissant comme l'index (user_id, updated_at DESC, note_id DESC)
+     */
+    String ACCESS_AFTER_CURSOR = "AND (a.updatedAt < :updatedAt OR (a.updatedAt = :updatedAt AND a.noteId < :id)) ";
+
+    /**
+     * Tri des listes : les colonnes fixées par le WHERE sont reprises en tête pour que H2 lise l'index
+     * dans l'ordre au lieu de trier toutes les lignes de l'utilisateur (vérifié par QueryPlanTest)
+     */
+    String ACCESS_ORDER = "ORDER BY a.userId, a.updatedAt DESC, a.noteId DESC";
+
+    String SHARED_ORDER = "ORDER BY a.userId, a.role, a.updatedAt DESC, a.noteId DESC";
+
     /**
      * Trouve toutes les notes d'un utilisateur avec pagination
      */
@@ -62,21 +107,112 @@ public interface NoteRepository extends JpaRepository<Note, Long> {
                                      Pageable pageable);
 
     /**
-     * Recherche combinée (titre + visibilité + tag) - Notes personnelles + partagées
+     * Recherche combinée (visibilité + tag) - Notes personnelles + partagées.
+     * La recherche plein texte passe par NoteSearchIndex.
      */
-    @Query("SELECT DISTINCT n FROM Note n LEFT JOIN n.noteTags nt LEFT JOIN nt.tag t " +
-           "LEFT JOIN Share s ON s.note = n AND s.sharedWithUser = :user " +
-           "WHERE (n.owner = :user OR s.sharedWithUser = :user) " +
-           "AND (:query IS NULL OR LOWER(n.title) LIKE LOWER(CONCAT('%', :query, '%'))) " +
-           "AND (:visibility IS NULL OR n.visibility = :visibility) " +
-           "AND (:tagLabel IS NULL OR t.label = :tagLabel) " +
-           "ORDER BY n.updatedAt DESC")
+    @EntityGraph(attributePaths = "owner")
+    @Query(value = "SELECT n " + USER_FILTERS + ACCESS_ORDER,
+           countQuery = "SELECT COUNT(a) " + USER_FILTERS)
     Page<Note> findByUserWithFilters(@Param("user") User user, 
-                                    @Param("query") String query, 
                                     @Param("visibility") Note.Visibility visibility, 
                                     @Param("tagLabel") String tagLabel, 
                                     Pageable pageable);
 
+    /**
+     * Première page en pagination par curseur - Notes personnelles + partagées
+     */
+    @EntityGraph(attributePaths = "owner")
+    @Query("SELECT n " + USER_FILTERS + ACCESS_ORDER)
+    List<Note> findByUserWithFiltersFirst(@Param("user") User user,
+                                          @Param("visibility") Note.Visibility visibility,
+                                          @Param("tagLabel") String tagLabel,
+                                          Pageable pageable);
+
+    /**
+     * Page suivante en pagination par curseur : notes strictement après (updatedAt, id)
+     */
+    @EntityGraph(attributePaths = "owner")
+    @Query("SELECT n " + USER_FILTERS + ACCESS_AFTER_CURSOR + ACCESS_ORDER)
+    List<Note> findByUserWithFiltersAfter(@Param("user") User user,
+                                          @Param("visibility") Note.Visibility visibility,
+                                          @Param("tagLabel") String tagLabel,
+                                          @Param("updatedAt") LocalDateTime updatedAt,
+                                          @Param("id") Long id,
+                                          Pageable pageable);
+
+    /**
+     * Compte les notes visibles par un utilisateur avec filtres
+     */
+    @Query("SELECT COUNT(a) " + USER_FILTERS)
+    long countByUserWithFilters(@Param("user") User user,
+                                @Param("visibility") Note.Visibility visibility,
+                                @Param("tagLabel") String tagLabel);
+
+    /**
+     * Résumés des notes visibles par un utilisateur avec filtres (pagination classique)
+     */
+    @Query(value = SUMMARY_SELECT + USER_FILTERS + ACCESS_ORDER,
+           countQuery = "SELECT COUNT(a) " + USER_FILTERS)
+    Page<NoteSummary> findSummariesByUserWithFilters(@Param("user") User user,
+                                                     @Param("visibility") Note.Visibility visibility,
+                                                     @Param("tagLabel") String tagLabel,
+                                                     Pageable pageable);
+
+    /**
+     * Première page de résumés en pagination par curseur
+     */
+    @Query(SUMMARY_SELECT + USER_FILTERS + ACCESS_ORDER)
+    List<NoteSummary> findSummariesByUserWithFiltersFirst(@Param("user") User user,
+                                                          @Param("visibility") Note.Visibility visibility,
+                                                          @Param("tagLabel") String tagLabel,
+                                                          Pageable pageable);
+
+    /**
+     * Page suivante de résumés en pagination par curseur
+     */
+    @Query(SUMMARY_SELECT + USER_FILTERS + ACCESS_AFTER_CURSOR + ACCESS_ORDER)
+    List<NoteSummary> findSummariesByUserWithFiltersAfter(@Param("user") User user,
+                                                          @Param("visibility") Note.Visibility visibility,
+                                                          @Param("tagLabel") String tagLabel,
+                                                          @Param("updatedAt") LocalDateTime updatedAt,
+                                                          @Param("id") Long id,
+                                                          Pageable pageable);
+
+    /**
+     * Résumés de notes par IDs (résultats de recherche)
+     */
+    @Query(SUMMARY_SELECT + "FROM Note n WHERE n.id IN :ids")
+    List<NoteSummary> findSummariesByIdIn(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Contenus complets de notes par IDs, sous forme (id, contenu) : surlignage d'une page de résultats de recherche
+     */
+    @Query("SELECT n.id, n.contentMd FROM Note n WHERE n.id IN :ids")
+    List<Object[]> findContentsByIdIn(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Filtre une liste d'IDs de notes par visibilité et tag (résultats de recherche)
+     */
+    @Query("SELECT n.id FROM Note n WHERE n.id IN :ids " +
+           "AND (:visibility IS NULL OR n.visibility = :visibility) " +
+           "AND (:tagLabel IS NULL OR EXISTS (SELECT nt FROM NoteTag nt WHERE nt.note = n AND nt.tag.label = :tagLabel))")
+    List<Long> findIdsMatchingFilters(@Param("ids") Collection<Long> ids,
+                                      @Param("visibility") Note.Visibility visibility,
+                                      @Param("tagLabel") String tagLabel);
+
+    /**
+     * Parcourt les notes par ID croissant pour construire l'index de recherche
+     */
+    @Query("SELECT n.id, n.owner.id, n.version, n.title, n.contentMd FROM Note n WHERE n.id > :afterId ORDER BY n.id")
+    List<Object[]> findIndexableNotesAfter(@Param("afterId") Long afterId, Pageable pageable);
+
+    /**
+     * Charge des notes par IDs avec leur propriétaire (résultats de recherche)
+     */
+    @Override
+    @EntityGraph(attributePaths = "owner")
+    List<Note> findAllById(Iterable<Long> ids);
+
     /**
      * Trouve une note par ID et propriétaire
      */
@@ -85,22 +221,72 @@ public interface NoteRepository extends JpaRepository<Note, Long> {
     /**
      * Trouve une note par ID avec accès (propriétaire ou partagée)
      */
-    @Query("SELECT n FROM Note n LEFT JOIN Share s ON s.note = n AND s.sharedWithUser = :user " +
-           "WHERE n.id = :noteId AND (n.owner = :user OR s.sharedWithUser = :user)")
+    @EntityGraph(attributePaths = {"owner", "noteTags", "noteTags.tag"})
+    @Query("SELECT n FROM Note n WHERE n.id = :noteId " +
+           "AND EXISTS (SELECT 1 FROM NoteAccess a WHERE a.user = :user AND a.note = n)")
     Optional<Note> findByIdAndUserAccess(@Param("noteId") Long noteId, @Param("user") User user);
 
     /**
-     * Trouve des notes partagées avec un utilisateur
+     * Version d'une note accessible par l'utilisateur, sans charger son contenu
      */
-    @Query("SELECT s.note FROM Share s WHERE s.sharedWithUser = :user ORDER BY s.note.updatedAt DESC")
-    List<Note> findSharedWithUser(@Param("user") User user);
+    @Query("SELECT new com.notes.backend.dto.NoteVersion(n.version, n.sharingVersion, n.updatedAt, n.sharingUpdatedAt) " +
+           "FROM Note n WHERE n.id = :noteId " +
+           "AND EXISTS (SELECT 1 FROM NoteAccess a WHERE a.user = :user AND a.note = n)")
+    Optional<NoteVersion> findVersionByIdAndUserAccess(@Param("noteId") Long noteId, @Param("user") User user);
 
     /**
-     * Trouve des notes partagées avec un utilisateur avec pagination
+     * Trouve des notes partagées avec un utilisateur avec pagination (LIMIT/OFFSET côté base)
      */
-    @Query("SELECT s.note FROM Share s WHERE s.sharedWithUser = :user ORDER BY s.note.updatedAt DESC")
+    @EntityGraph(attributePaths = "owner")
+    @Query(value = "SELECT n " + SHARED_WITH_USER + SHARED_ORDER,
+           countQuery = "SELECT COUNT(a) " + SHARED_WITH_USER)
     Page<Note> findSharedWithUser(@Param("user") User user, Pageable pageable);
 
+    /**
+     * Première page des notes partagées avec un utilisateur (pagination par curseur)
+     */
+    @EntityGraph(attributePaths = "owner")
+    @Query("SELECT n " + SHARED_WITH_USER + SHARED_ORDER)
+    List<Note> findSharedWithUserFirst(@Param("user") User user, Pageable pageable);
+
+    /**
+     * Page suivante des notes partagées avec un utilisateur : notes strictement après (updatedAt, id)
+     */
+    @EntityGraph(attributePaths = "owner")
+    @Query("SELECT n " + SHARED_WITH_USER + ACCESS_AFTER_CURSOR + SHARED_ORDER)
+    List<Note> findSharedWithUserAfter(@Param("user") User user,
+                                       @Param("updatedAt") LocalDateTime updatedAt,
+                                       @Param("id") Long id,
+                                       Pageable pageable);
+
+    /**
+     * Compte les notes partagées avec un utilisateur
+     */
+    @Query("SELECT COUNT(a) " + SHARED_WITH_USER)
+    long countSharedWithUser(@Param("user") User user);
+
+    /**
+     * Résumés des notes partagées avec un utilisateur (pagination classique)
+     */
+    @Query(value = SUMMARY_SELECT + SHARED_WITH_USER + SHARED_ORDER,
+           countQuery = "SELECT COUNT(a) " + SHARED_WITH_USER)
+    Page<NoteSummary> findSharedSummariesWithUser(@Param("user") User user, Pageable pageable);
+
+    /**
+     * Première page de résumés des notes partagées (pagination par curseur)
+     */
+    @Query(SUMMARY_SELECT + SHARED_WITH_USER + SHARED_ORDER)
+    List<NoteSummary> findSharedSummariesWithUserFirst(@Param("user") User user, Pageable pageable);
+
+    /**
+     * Page suivante de résumés des notes partagées (pagination par curseur)
+     */
+    @Query(SUMMARY_SELECT + SHARED_WITH_USER + ACCESS_AFTER_CURSOR + SHARED_ORDER)
+    List<NoteSummary> findSharedSummariesWithUserAfter(@Param("user") User user,
+                                                       @Param("updatedAt") LocalDateTime updatedAt,
+                                                       @Param("id") Long id,
+                                                       Pageable pageable);
+
     /**
      * Trouve des notes publiques
      */
@@ -113,4 +299,15 @@ public interface NoteRepository extends JpaRepository<Note, Long> {
     boolean existsByIdAndOwner(Long id, User owner);
 
     // Note: findByPublicLink sera géré via PublicLinkRepository
+
+    /**
+     * Enregistre un changement de partage ou de visibilité : compteur et date des partages,
+     * sans incrémenter la version du contenu (If-Match, baseVersion)
+     */
+    @Modifying
+    @Query("UPDATE Note n SET n.visibility = :visibility, n.sharingVersion = n.sharingVersion + 1, " +
+           "n.sharingUpdatedAt = :now WHERE n.id = :noteId")
+    int updateSharing(@Param("noteId") Long noteId,
+                      @Param("visibility") Note.Visibility visibility,
+                      @Param("now") LocalDateTime now);
 }
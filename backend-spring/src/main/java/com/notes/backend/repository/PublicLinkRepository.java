@@ -1,8 +1,10 @@
 package com.notes.backend.repository;
 
+import com.notes.backend.dto.PublicNoteVersion;
 import com.notes.backend.model.Note;
 import com.notes.backend.model.PublicLink;
 import com.notes.backend.model.User;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -37,9 +39,32 @@ public interface PublicLinkRepository extends JpaRepository<PublicLink, Long> {
     /**
      * Trouve un lien public par token et vérifie qu'il n'est pas expiré
      */
+    @EntityGraph(attributePaths = {"note", "note.owner", "note.noteTags", "note.noteTags.tag"})
     @Query("SELECT pl FROM PublicLink pl WHERE pl.urlToken = :urlToken AND (pl.expiresAt IS NULL OR pl.expiresAt > :now)")
     Optional<PublicLink> findByUrlTokenAndNotExpired(@Param("urlToken") String urlToken, @Param("now") LocalDateTime now);
 
+    /**
+     * Vue publique de la note d'un lien valide, sans entité chargée, en une requête : au plus une ligne
+     * (id, titre, contenu, création, modification, version, nom du propriétaire, expiration du lien,
+     * version et date des partages, labels des tags triés). Les labels sont agrégés par une sous-requête
+     * pour ne pas répéter le contenu par tag.
+     */
+    @Query("SELECT n.id, n.title, n.contentMd, n.createdAt, n.updatedAt, n.version, o.name, pl.expiresAt, " +
+           "n.sharingVersion, n.sharingUpdatedAt, " +
+           "(SELECT array_agg(t.label) WITHIN GROUP (ORDER BY t.label) FROM NoteTag nt JOIN nt.tag t WHERE nt.note = n) " +
+           "FROM PublicLink pl JOIN pl.note n JOIN n.owner o " +
+           "WHERE pl.urlToken = :urlToken AND (pl.expiresAt IS NULL OR pl.expiresAt > :now)")
+    List<Object[]> findPublicNoteRow(@Param("urlToken") String urlToken, @Param("now") LocalDateTime now);
+
+    /**
+     * Version de la note d'un lien public valide et expiration du lien, sans charger la note
+     */
+    @Query("SELECT new com.notes.backend.dto.PublicNoteVersion(n.version, n.sharingVersion, n.updatedAt, " +
+           "n.sharingUpdatedAt, pl.expiresAt) " +
+           "FROM PublicLink pl JOIN pl.note n " +
+           "WHERE pl.urlToken = :urlToken AND (pl.expiresAt IS NULL OR pl.expiresAt > :now)")
+    Optional<PublicNoteVersion> findNoteVersionByUrlTokenAndNotExpired(@Param("urlToken") String urlToken, @Param("now") LocalDateTime now);
+
     /**
      * Trouve tous les liens expirés
      */
@@ -38,6 +38,11 @@ public interface ShareRepository extends JpaRepository<Share, Long> {
      */
     List<Share> findBySharedWithUser(User sharedWithUser);
 
+    /**
+     * Compte les partages reçus par un utilisateur
+     */
+    long countBySharedWithUser(User sharedWithUser);
+
     /**
      * Vérifie si une note est partagée avec un utilisateur
      */
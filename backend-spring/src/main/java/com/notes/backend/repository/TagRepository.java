@@ -6,8 +6,8 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
-import java.util.Optional;
 
 /**
  * Repository pour l'entité Tag
@@ -16,15 +16,16 @@ import java.util.Optional;
 public interface TagRepository extends JpaRepository<Tag, Long> {
 
     /**
-     * Trouve un tag par son label
+     * Triplets (id, label normalisé, label) de tous les tags, pour le chargement du dictionnaire
      */
-    Optional<Tag> findByLabel(String label);
+    @Query("SELECT t.id, t.labelNormalized, t.label FROM Tag t")
+    List<Object[]> findAllIdsAndLabels();
 
     /**
-     * Trouve un tag par son label en ignorant la casse
+     * Triplets (id, label normalisé, label) des tags dont le label normalisé figure dans la liste
      */
-    @Query("SELECT t FROM Tag t WHERE LOWER(t.label) = LOWER(:label)")
-    Optional<Tag> findByLabelIgnoreCase(@Param("label") String label);
+    @Query("SELECT t.id, t.labelNormalized, t.label FROM Tag t WHERE t.labelNormalized IN :labels")
+    List<Object[]> findIdsAndLabelsByNormalizedLabelIn(@Param("labels") Collection<String> labels);
 
     /**
      * Vérifie si un tag existe avec ce label
@@ -32,19 +33,20 @@ public interface TagRepository extends JpaRepository<Tag, Long> {
     boolean existsByLabel(String label);
 
     /**
-     * Recherche des tags par label (insensible à la casse)
+     * Labels des tags d'un ensemble de notes, sous forme (id de note, label)
      */
-    @Query("SELECT t FROM Tag t WHERE LOWER(t.label) LIKE LOWER(CONCAT('%', :query, '%')) ORDER BY t.label")
-    List<Tag> findByLabelContainingIgnoreCase(@Param("query") String query);
+    @Query("SELECT nt.note.id, t.label FROM NoteTag nt JOIN nt.tag t WHERE nt.note.id IN :noteIds ORDER BY t.label")
+    List<Object[]> findLabelsByNoteIds(@Param("noteIds") Collection<Long> noteIds);
 
     /**
-     * Trouve tous les tags triés par label
+     * Ids des tags d'une note
      */
-    List<Tag> findAllByOrderByLabel();
+    @Query("SELECT nt.tag.id FROM NoteTag nt WHERE nt.note.id = :noteId")
+    List<Long> findTagIdsByNoteId(@Param("noteId") Long noteId);
 
     /**
-     * Trouve les tags les plus utilisés
+     * Nombre de notes par (propriétaire, tag), pour l'initialisation des compteurs d'usage
      */
-    @Query("SELECT t FROM Tag t JOIN t.noteTags nt GROUP BY t.id, t.label ORDER BY COUNT(nt.note) DESC")
-    List<Tag> findMostUsedTags();
+    @Query("SELECT nt.note.owner.id, nt.tag.id, COUNT(nt) FROM NoteTag nt GROUP BY nt.note.owner.id, nt.tag.id")
+    List<Object[]> countNotesByOwnerAndTag();
 }
@@ -0,0 +1,515 @@
+package com.notes.backend.search;
+
+import com.notes.backend.repository.NoteAccessRepository;
+import com.notes.backend.repository.NoteRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.function.Consumer;
+
+/**
+ * Index inversé en mémoire sur le titre et le contenu des notes, partitionné par propriétaire :
+ * chaque partition associe ses termes triés (recherche par préfixe) aux notes qui les contiennent.
+ * Une recherche ne lit que les listes des termes demandés dans la partition de l'utilisateur
+ * et dans celles des notes partagées avec lui, sans parcourir ses notes une à une.
+ */
+@Component
+public class NoteSearchIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(NoteSearchIndex.class);
+
+    private static final float TITLE_WEIGHT = 3.0f;
+    private static final float CONTENT_WEIGHT = 1.0f;
+    private static final float PREFIX_PENALTY = 0.5f;
+    private static final int MIN_PREFIX_LENGTH = 2;
+    private static final int REBUILD_BATCH_SIZE = 500;
+
+    @Autowired
+    private NoteRepository noteRepository;
+
+    @Autowired
+    private NoteAccessRepository noteAccessRepository;
+
+    // Index servi aux recherches ; remplacé d'un bloc à la fin d'une reconstruction
+    private volatile Partitions current = new Partitions();
+
+    // Mises à jour reçues pendant une reconstruction, rejouées sur le nouvel index avant l'échange
+    private List<Consumer<Partitions>> pendingUpdates;
+
+    private volatile boolean ready;
+
+    /**
+     * Reconstruit l'index au démarrage de l'application, à côté de l'index servi
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        long start = System.currentTimeMillis();
+        synchronized (this) {
+            pendingUpdates = new ArrayList<>();
+        }
+
+        Partitions rebuilt = new Partitions();
+        long lastId = 0L;
+        List<Object[]> batch;
+        do {
+            batch = noteRepository.findIndexableNotesAfter(lastId, PageRequest.of(0, REBUILD_BATCH_SIZE));
+            for (Object[] row : batch) {
+                lastId = (Long) row[0];
+                rebuilt.put(lastId, document((Long) row[1], (Long) row[2], (String) row[3], (String) row[4]));
+            }
+        } while (batch.size() == REBUILD_BATCH_SIZE);
+
+        long lastUserId = 0L;
+        long lastNoteId = 0L;
+        do {
+            batch = noteAccessRepository.findReadAccessAfter(lastUserId, lastNoteId, PageRequest.of(0, REBUILD_BATCH_SIZE));
+            for (Object[] row : batch) {
+                lastUserId = (Long) row[0];
+                lastNoteId = (Long) row[1];
+                rebuilt.grant(lastUserId, lastNoteId);
+            }
+        } while (batch.size() == REBUILD_BATCH_SIZE);
+
+        synchronized (this) {
+            pendingUpdates.forEach(update -> update.accept(rebuilt));
+            pendingUpdates = null;
+            current = rebuilt;
+            ready = true;
+        }
+        log.info("Search index built: {} notes in {} ms", rebuilt.documents.size(), System.currentTimeMillis() - start);
+    }
+
+    /**
+     * Indique si l'index est complet (première reconstruction terminée)
+     */
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * Indexe (ou réindexe) une note ; ignoré si l'index connaît déjà une version plus récente
+     */
+    public void index(Long noteId, Long ownerId, Long version, String title, String contentMd) {
+        IndexedNote document = document(ownerId, version, title, contentMd);
+        apply(partitions -> partitions.put(noteId, document));
+    }
+
+    /**
+     * Retire une note de l'index
+     */
+    public void remove(Long noteId) {
+        apply(partitions -> partitions.remove(noteId));
+    }
+
+    /**
+     * Rend une note visible dans les recherches d'un utilisateur (partage)
+     */
+    public void grant(Long userId, Long noteId) {
+        apply(partitions -> partitions.grant(userId, noteId));
+    }
+
+    /**
+     * Retire une note des recherches d'un utilisateur (fin de partage)
+     */
+    public void revoke(Long userId, Long noteId) {
+        apply(partitions -> partitions.revoke(userId, noteId));
+    }
+
+    /**
+     * Recherche, parmi les notes accessibles à l'utilisateur, celles contenant tous les termes de la requête,
+     * triées par pertinence. Chaque terme de la requête peut correspondre au début d'un mot indexé.
+     */
+    public List<SearchHit> search(Long userId, String query) {
+        List<String> queryTerms = TextNormalizer.tokenize(query);
+        if (queryTerms.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        Partitions partitions = current;
+        Partition owned = partitions.byOwner.get(userId);
+        Map<Long, Set<Long>> shared = partitions.readable.getOrDefault(userId, Map.of());
+        int accessible = owned == null ? 0 : owned.size();
+        for (Set<Long> noteIds : shared.values()) {
+            accessible += noteIds.size();
+        }
+        int totalDocuments = Math.max(accessible, 1);
+
+        Map<Long, Float> scores = null;
+        for (String queryTerm : queryTerms) {
+            Map<Long, Float> termScores = scoreTerm(partitions, owned, shared, queryTerm);
+            // Rareté du terme parmi les notes accessibles
+            float idf = (float) Math.log(1 + (double) totalDocuments / Math.max(termScores.size(), 1));
+            if (scores == null) {
+                termScores.replaceAll((noteId, weight) -> weight * idf);
+                scores = termScores;
+            } else {
+                Map<Long, Float> intersection = new HashMap<>();
+                for (Map.Entry<Long, Float> entry : termScores.entrySet()) {
+                    Float previous = scores.get(entry.getKey());
+                    if (previous != null) {
+                        intersection.put(entry.getKey(), previous + entry.getValue() * idf);
+                    }
+                }
+                scores = intersection;
+            }
+            if (scores.isEmpty()) {
+                return Collections.emptyList();
+            }
+        }
+
+        List<SearchHit> hits = new ArrayList<>(scores.size());
+        for (Map.Entry<Long, Float> entry : scores.entrySet()) {
+            IndexedNote document = partitions.documents.get(entry.getKey());
+            if (document != null) {
+                hits.add(new SearchHit(entry.getKey(), document.ownerId(), entry.getValue()));
+            }
+        }
+        hits.sort(Comparator.comparing(SearchHit::score).reversed()
+                .thenComparing(SearchHit::noteId, Comparator.reverseOrder()));
+        return hits;
+    }
+
+    /**
+     * Nombre de notes indexées
+     */
+    public int size() {
+        return current.documents.size();
+    }
+
+    /**
+     * Applique une mise à jour à l'index servi et, pendant une reconstruction, la garde pour la rejouer
+     */
+    private synchronized void apply(Consumer<Partitions> update) {
+        update.accept(current);
+        if (pendingUpdates != null) {
+            pendingUpdates.add(update);
+        }
+    }
+
+    /**
+     * Poids du terme de la requête (exact ou préfixe) dans chaque note possédée ou partagée qui le contient
+     */
+    private Map<Long, Float> scoreTerm(Partitions partitions, Partition owned, Map<Long, Set<Long>> shared,
+                                       String queryTerm) {
+        Map<Long, Float> termScores = new HashMap<>();
+        if (owned != null) {
+            owned.match(queryTerm, null, termScores);
+        }
+        for (Map.Entry<Long, Set<Long>> entry : shared.entrySet()) {
+            Partition partition = partitions.byOwner.get(entry.getKey());
+            if (partition != null) {
+                partition.match(queryTerm, entry.getValue(), termScores);
+            }
+        }
+        return termScores;
+    }
+
+    private static IndexedNote document(Long ownerId, Long version, String title, String contentMd) {
+        TreeMap<String, Float> weights = new TreeMap<>();
+        accumulate(weights, title, TITLE_WEIGHT);
+        accumulate(weights, contentMd, CONTENT_WEIGHT);
+
+        String[] terms = new String[weights.size()];
+        float[] termWeights = new float[weights.size()];
+        int i = 0;
+        for (Map.Entry<String, Float> entry : weights.entrySet()) {
+            // Termes partagés entre notes : une seule instance en mémoire
+            terms[i] = entry.getKey().intern();
+            termWeights[i] = (float) (1 + Math.log(entry.getValue()));
+            i++;
+        }
+        return new IndexedNote(ownerId, version == null ? 0L : version, terms, termWeights);
+    }
+
+    private static void accumulate(Map<String, Float> weights, String text, float weight) {
+        for (String term : TextNormalizer.tokenize(text)) {
+            weights.merge(term, weight, Float::sum);
+        }
+    }
+
+    /**
+     * Notes indexées, partitions par propriétaire et notes partagées par lecteur (groupées par propriétaire).
+     * Les écritures sont sérialisées par {@link #apply} ; les recherches lisent sans verrou.
+     */
+    private static final class Partitions {
+
+        private final ConcurrentHashMap<Long, IndexedNote> documents = new ConcurrentHashMap<>();
+        private final ConcurrentHashMap<Long, Partition> byOwner = new ConcurrentHashMap<>();
+        // Lecteur -> propriétaire -> notes partagées avec le lecteur
+        private final ConcurrentHashMap<Long, Map<Long, Set<Long>>> readable = new ConcurrentHashMap<>();
+        // Lecteurs de chaque note, y compris ceux reçus avant l'indexation de la note
+        private final ConcurrentHashMap<Long, Set<Long>> readersByNote = new ConcurrentHashMap<>();
+
+        void put(Long noteId, IndexedNote document) {
+            IndexedNote previous = documents.get(noteId);
+            if (previous != null && previous.version() > document.version()) {
+                return;
+            }
+            Partition partition = byOwner.computeIfAbsent(document.ownerId(), id -> new Partition());
+            if (previous == null || !previous.ownerId().equals(document.ownerId())) {
+                if (previous != null) {
+                    byOwner.get(previous.ownerId()).remove(noteId, previous);
+                }
+                partition.add(noteId, document);
+                documents.put(noteId, document);
+                for (Long readerId : readersByNote.getOrDefault(noteId, Set.of())) {
+                    if (previous != null) {
+                        removeShared(readerId, previous.ownerId(), noteId);
+                    }
+                    addShared(readerId, document.ownerId(), noteId);
+                }
+            } else {
+                partition.update(noteId, previous, document);
+                documents.put(noteId, document);
+            }
+        }
+
+        void remove(Long noteId) {
+            IndexedNote previous = documents.remove(noteId);
+            Set<Long> readers = readersByNote.remove(noteId);
+            if (previous == null) {
+                return;
+            }
+            byOwner.get(previous.ownerId()).remove(noteId, previous);
+            if (readers != null) {
+                readers.forEach(userId -> removeShared(userId, previous.ownerId(), noteId));
+            }
+        }
+
+        void grant(Long userId, Long noteId) {
+            readersByNote.computeIfAbsent(noteId, id -> ConcurrentHashMap.newKeySet()).add(userId);
+            IndexedNote document = documents.get(noteId);
+            if (document != null) {
+                addShared(userId, document.ownerId(), noteId);
+            }
+        }
+
+        void revoke(Long userId, Long noteId) {
+            readersByNote.computeIfPresent(noteId, (id, readers) -> {
+                readers.remove(userId);
+                return readers.isEmpty() ? null : readers;
+            });
+            IndexedNote document = documents.get(noteId);
+            if (document != null) {
+                removeShared(userId, document.ownerId(), noteId);
+            }
+        }
+
+        private void addShared(Long userId, Long ownerId, Long noteId) {
+            readable.computeIfAbsent(userId, id -> new ConcurrentHashMap<>())
+                    .computeIfAbsent(ownerId, id -> ConcurrentHashMap.newKeySet())
+                    .add(noteId);
+        }
+
+        private void removeShared(Long userId, Long ownerId, Long noteId) {
+            readable.computeIfPresent(userId, (id, byOwnerIds) -> {
+                byOwnerIds.computeIfPresent(ownerId, (owner, noteIds) -> {
+                    noteIds.remove(noteId);
+                    return noteIds.isEmpty() ? null : noteIds;
+                });
+                return byOwnerIds.isEmpty() ? null : byOwnerIds;
+            });
+        }
+    }
+
+    /**
+     * Index inversé des notes d'un propriétaire : terme -> notes qui le contiennent et poids du terme
+     */
+    private static final class Partition {
+
+        private final ConcurrentSkipListMap<String, Posting> postings = new ConcurrentSkipListMap<>();
+        private volatile int size;
+
+        int size() {
+            return size;
+        }
+
+        void add(Long noteId, IndexedNote document) {
+            for (int i = 0; i < document.terms().length; i++) {
+                addPosting(document.terms()[i], noteId, document.weights()[i]);
+            }
+            size++;
+        }
+
+        void remove(Long noteId, IndexedNote document) {
+            for (String term : document.terms()) {
+                removePosting(term, noteId);
+            }
+            size--;
+        }
+
+        /**
+         * Réindexe une note en ne touchant que les termes ajoutés, retirés ou dont le poids a changé
+         */
+        void update(Long noteId, IndexedNote previous, IndexedNote document) {
+            String[] oldTerms = previous.terms();
+            String[] newTerms = document.terms();
+            int i = 0;
+            int j = 0;
+            while (i < oldTerms.length || j < newTerms.length) {
+                int order = i == oldTerms.length ? 1 : j == newTerms.length ? -1 : oldTerms[i].compareTo(newTerms[j]);
+                if (order < 0) {
+                    removePosting(oldTerms[i++], noteId);
+                } else if (order > 0) {
+                    addPosting(newTerms[j], noteId, document.weights()[j]);
+                    j++;
+                } else {
+                    if (previous.weights()[i] != document.weights()[j]) {
+                        addPosting(newTerms[j], noteId, document.weights()[j]);
+                    }
+                    i++;
+                    j++;
+                }
+            }
+        }
+
+        /**
+         * Ajoute au résultat le meilleur poids, par note, des termes égaux au terme de la requête
+         * ou commençant par lui ; limité aux notes de {@code restrictTo} si non null
+         */
+        void match(String queryTerm, Set<Long> restrictTo, Map<Long, Float> into) {
+            if (queryTerm.length() < MIN_PREFIX_LENGTH) {
+                Posting exact = postings.get(queryTerm);
+                if (exact != null) {
+                    exact.collect(1f, restrictTo, into);
+                }
+                return;
+            }
+            for (Map.Entry<String, Posting> entry
+                    : postings.subMap(queryTerm, true, queryTerm + Character.MAX_VALUE, false).entrySet()) {
+                float factor = entry.getKey().equals(queryTerm) ? 1f : PREFIX_PENALTY;
+                entry.getValue().collect(factor, restrictTo, into);
+            }
+        }
+
+        private void addPosting(String term, Long noteId, float weight) {
+            Posting posting = postings.getOrDefault(term, Posting.EMPTY);
+            postings.put(term, posting.with(noteId, weight));
+        }
+
+        private void removePosting(String term, Long noteId) {
+            Posting posting = postings.get(term);
+            if (posting == null) {
+                return;
+            }
+            Posting remaining = posting.without(noteId);
+            if (remaining == null) {
+                postings.remove(term);
+            } else {
+                postings.put(term, remaining);
+            }
+        }
+    }
+
+    /**
+     * Liste des notes contenant un terme, triée par ID, avec le poids du terme dans chacune.
+     * Immuable pour les lecteurs : un ajout en fin de liste écrit au-delà de la taille des versions
+     * déjà publiées (qui ne lisent jamais si loin), toute autre modification copie les tableaux.
+     */
+    private static final class Posting {
+
+        static final Posting EMPTY = new Posting(new long[0], new float[0], 0);
+
+        private final long[] noteIds;
+        private final float[] weights;
+        private final int size;
+
+        private Posting(long[] noteIds, float[] weights, int size) {
+            this.noteIds = noteIds;
+            this.weights = weights;
+            this.size = size;
+        }
+
+        Posting with(long noteId, float weight) {
+            int position = Arrays.binarySearch(noteIds, 0, size, noteId);
+            if (position >= 0) {
+                float[] copy = Arrays.copyOf(weights, size);
+                copy[position] = weight;
+                return new Posting(Arrays.copyOf(noteIds, size), copy, size);
+            }
+            int insertAt = -position - 1;
+            if (insertAt == size && size < noteIds.length) {
+                noteIds[size] = noteId;
+                weights[size] = weight;
+                return new Posting(noteIds, weights, size + 1);
+            }
+            int capacity = size < noteIds.length ? noteIds.length : size + (size >> 1) + 1;
+            long[] ids = new long[capacity];
+            float[] values = new float[capacity];
+            System.arraycopy(noteIds, 0, ids, 0, insertAt);
+            System.arraycopy(weights, 0, values, 0, insertAt);
+            ids[insertAt] = noteId;
+            values[insertAt] = weight;
+            System.arraycopy(noteIds, insertAt, ids, insertAt + 1, size - insertAt);
+            System.arraycopy(weights, insertAt, values, insertAt + 1, size - insertAt);
+            return new Posting(ids, values, size + 1);
+        }
+
+        /**
+         * Liste sans la note, ou null si elle devient vide
+         */
+        Posting without(long noteId) {
+            int position = Arrays.binarySearch(noteIds, 0, size, noteId);
+            if (position < 0) {
+                return this;
+            }
+            if (size == 1) {
+                return null;
+            }
+            long[] ids = new long[size - 1];
+            float[] values = new float[size - 1];
+            System.arraycopy(noteIds, 0, ids, 0, position);
+            System.arraycopy(weights, 0, values, 0, position);
+            System.arraycopy(noteIds, position + 1, ids, position, size - position - 1);
+            System.arraycopy(weights, position + 1, values, position, size - position - 1);
+            return new Posting(ids, values, size - 1);
+        }
+
+        /**
+         * Garde, par note, le meilleur poids pondéré ; parcourt la plus courte de la liste et du filtre
+         */
+        void collect(float factor, Set<Long> restrictTo, Map<Long, Float> into) {
+            if (restrictTo == null || size <= restrictTo.size()) {
+                for (int i = 0; i < size; i++) {
+                    if (restrictTo == null || restrictTo.contains(noteIds[i])) {
+                        into.merge(noteIds[i], weights[i] * factor, Math::max);
+                    }
+                }
+                return;
+            }
+            for (Long noteId : restrictTo) {
+                int position = Arrays.binarySearch(noteIds, 0, size, noteId);
+                if (position >= 0) {
+                    into.merge(noteId, weights[position] * factor, Math::max);
+                }
+            }
+        }
+    }
+
+    /**
+     * Note indexée : termes triés et poids correspondants (pour la mise à jour des listes),
+     * version de la note au moment de l'indexation
+     */
+    private record IndexedNote(Long ownerId, long version, String[] terms, float[] weights) {}
+
+    /**
+     * Résultat de recherche : note, propriétaire et score de pertinence
+     */
+    public record SearchHit(Long noteId, Long ownerId, float score) {}
+}
@@ -0,0 +1,33 @@
+package com.notes.backend.search;
+
+import java.util.regex.Pattern;
+
+/**
+ * Texte brut d'un contenu markdown pour les extraits et le surlignage :
+ * sans HTML (balises, scripts), sans URL et sans ponctuation markdown
+ */
+public final class PlainText {
+
+    // Blocs dont le contenu n'est pas du texte lisible ; le bloc peut être tronqué (début de contenu)
+    private static final Pattern SCRIPT_OR_STYLE = Pattern.compile(
+            "<(script|style)\\b.*?(</\\1\\s*>|$)", Pattern.CASE_INSENSITIVE | Pattern.DOTALL);
+    // Balises et commentaires HTML, y compris une balise coupée en fin de texte
+    private static final Pattern HTML_TAG = Pattern.compile("<!--.*?(-->|$)|</?[a-zA-Z!][^>]*(>|$)", Pattern.DOTALL);
+    private static final Pattern URL = Pattern.compile(
+            "\\b(?:https?|ftp|mailto|javascript|vbscript|data|file):\\S*|\\bwww\\.\\S+", Pattern.CASE_INSENSITIVE);
+    private static final Pattern MARKDOWN_SYNTAX = Pattern.compile("[#>*_`~\\[\\]()|<]+|!\\[|-{3,}");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    private PlainText() {}
+
+    public static String fromMarkdown(String markdown) {
+        if (markdown == null || markdown.isBlank()) {
+            return "";
+        }
+        String text = SCRIPT_OR_STYLE.matcher(markdown).replaceAll(" ");
+        text = HTML_TAG.matcher(text).replaceAll(" ");
+        text = URL.matcher(text).replaceAll(" ");
+        text = MARKDOWN_SYNTAX.matcher(text).replaceAll(" ");
+        return WHITESPACE.matcher(text).replaceAll(" ").trim();
+    }
+}
@@ -0,0 +1,101 @@
+package com.notes.backend.search;
+
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Construit un extrait HTML où les termes recherchés sont entourés de &lt;mark&gt;
+ */
+public final class SearchHighlighter {
+
+    private static final Pattern WORD = Pattern.compile("[\\p{L}\\p{N}]+");
+    private static final int CONTEXT_BEFORE = 60;
+    private static final int SNIPPET_LENGTH = 200;
+
+    private SearchHighlighter() {}
+
+    /**
+     * Extrait surligné du contenu complet (en texte brut), ou du titre si le contenu ne contient aucun terme
+     */
+    public static String highlight(String title, String contentMd, String query) {
+        List<String> queryTerms = TextNormalizer.tokenize(query);
+        if (queryTerms.isEmpty()) {
+            return null;
+        }
+        String snippet = highlightText(PlainText.fromMarkdown(contentMd), queryTerms);
+        return snippet != null ? snippet : highlightText(title, queryTerms);
+    }
+
+    private static String highlightText(String text, List<String> queryTerms) {
+        if (text == null || text.isEmpty()) {
+            return null;
+        }
+
+        Matcher matcher = WORD.matcher(text);
+        int firstMatch = -1;
+        while (matcher.find()) {
+            if (matches(matcher.group(), queryTerms)) {
+                firstMatch = matcher.start();
+                break;
+            }
+        }
+        if (firstMatch < 0) {
+            return null;
+        }
+
+        int start = Math.max(0, firstMatch - CONTEXT_BEFORE);
+        int end = Math.min(text.length(), start + SNIPPET_LENGTH);
+        // Ne pas couper un mot en début ou en fin d'extrait
+        while (start > 0 && Character.isLetterOrDigit(text.charAt(start - 1))) {
+            start--;
+        }
+        while (end < text.length() && Character.isLetterOrDigit(text.charAt(end))) {
+            end++;
+        }
+
+        StringBuilder snippet = new StringBuilder(end - start + 32);
+        if (start > 0) {
+            snippet.append("…");
+        }
+        int cursor = start;
+        matcher = WORD.matcher(text).region(start, end);
+        while (matcher.find()) {
+            if (matches(matcher.group(), queryTerms)) {
+                appendEscaped(snippet, text, cursor, matcher.start());
+                snippet.append("<mark>");
+                appendEscaped(snippet, text, matcher.start(), matcher.end());
+                snippet.append("</mark>");
+                cursor = matcher.end();
+            }
+        }
+        appendEscaped(snippet, text, cursor, end);
+        if (end < text.length()) {
+            snippet.append("…");
+        }
+        return snippet.toString().replaceAll("\\s+", " ").trim();
+    }
+
+    private static boolean matches(String word, List<String> queryTerms) {
+        String folded = TextNormalizer.fold(word);
+        for (String term : queryTerms) {
+            if (term.length() > 1 ? folded.startsWith(term) : folded.equals(term)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static void appendEscaped(StringBuilder out, String text, int from, int to) {
+        for (int i = from; i < to; i++) {
+            char c = text.charAt(i);
+            switch (c) {
+                case '<' -> out.append("&lt;");
+                case '>' -> out.append("&gt;");
+                case '&' -> out.append("&amp;");
+                case '"' -> out.append("&quot;");
+                default -> out.append(c);
+            }
+        }
+    }
+}
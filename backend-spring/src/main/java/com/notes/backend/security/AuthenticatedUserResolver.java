@@ -0,0 +1,34 @@
+package com.notes.backend.security;
+
+import com.notes.backend.model.User;
+import com.notes.backend.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+
+import java.util.Optional;
+
+/**
+ * Résout un utilisateur par email en réutilisant l'ID porté par l'authentification courante
+ */
+@Component
+public class AuthenticatedUserResolver {
+
+    @Autowired
+    private UserRepository userRepository;
+
+    /**
+     * Si l'email est celui de l'utilisateur authentifié, retourne une référence sans charger la ligne ;
+     * sinon, charge l'utilisateur depuis la base. Les tokens d'un utilisateur supprimé sont déjà
+     * refusés par le filtre JWT (liste en mémoire et cache des utilisateurs vérifié en base).
+     */
+    public Optional<User> findByEmail(String email) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.getPrincipal() instanceof UserPrincipal principal
+                && principal.getEmail().equals(email)) {
+            return Optional.of(userRepository.getReferenceById(principal.getId()));
+        }
+        return userRepository.findByEmail(email);
+    }
+}
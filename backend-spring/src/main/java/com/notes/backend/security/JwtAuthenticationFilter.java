@@ -1,5 +1,11 @@
 package com.notes.backend.security;
 
+import com.notes.backend.repository.UserRepository;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -16,7 +22,9 @@ import org.springframework.web.filter.OncePerRequestFilter;
 import java.io.IOException;
 
 /**
- * Filtre d'authentification JWT
+ * Filtre d'authentification JWT.
+ * Le token est vérifié une seule fois ; l'utilisateur est reconstruit depuis ses claims.
+ * Son existence est vérifiée en base seulement s'il est absent du cache des utilisateurs authentifiés.
  */
 @Component
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
@@ -27,35 +35,83 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
     @Autowired
     private UserDetailsService userDetailsService;
 
+    @Autowired
+    private TokenDenylist tokenDenylist;
+
+    @Autowired
+    private VerifiedTokenCache verifiedTokenCache;
+
+    @Autowired
+    private UserPrincipalCache userPrincipalCache;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private Timer authenticationTimer;
+
+    @PostConstruct
+    void initMetrics() {
+        authenticationTimer = Timer.builder("auth.filter.latency")
+                .description("Temps d'authentification JWT par requête")
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+    }
+
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
             throws ServletException, IOException {
 
         final String authorizationHeader = request.getHeader("Authorization");
 
-        String email = null;
-        String jwt = null;
-
-        if (authorizationHeader != null && authorizationHeader.startsWith("Bearer ")) {
-            jwt = authorizationHeader.substring(7);
-            try {
-                email = jwtUtil.extractEmail(jwt);
-            } catch (Exception e) {
-                logger.error("Error extracting email from JWT token", e);
+        if (authorizationHeader != null && authorizationHeader.startsWith("Bearer ")
+                && SecurityContextHolder.getContext().getAuthentication() == null) {
+            Timer.Sample sample = Timer.start(meterRegistry);
+            String jwt = authorizationHeader.substring(7);
+            Claims claims = verifiedTokenCache.get(jwt);
+            if (claims == null) {
+                try {
+                    claims = jwtUtil.parseClaims(jwt);
+                    verifiedTokenCache.put(jwt, claims);
+                } catch (JwtException | IllegalArgumentException e) {
+                    logger.debug("Rejected JWT token: " + e.getMessage());
+                }
             }
-        }
 
-        if (email != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-            UserDetails userDetails = this.userDetailsService.loadUserByUsername(email);
+            // Les refresh tokens, les tokens révoqués et ceux d'un utilisateur supprimé ne permettent pas d'accéder à l'API
+            if (claims != null && !jwtUtil.isRefreshToken(claims) && !tokenDenylist.isRevoked(claims.getId())
+                    && !tokenDenylist.isUserRevoked(claims.get(JwtUtil.CLAIM_USER_ID, Long.class))) {
+                UserDetails userDetails;
+                UserPrincipal principal = jwtUtil.toPrincipal(claims);
+                if (principal != null) {
+                    userDetails = userExists(principal) ? principal : null;
+                } else {
+                    userDetails = this.userDetailsService.loadUserByUsername(claims.getSubject());
+                }
 
-            if (jwtUtil.validateToken(jwt, userDetails)) {
-                UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
-                        userDetails, null, userDetails.getAuthorities());
-                authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
-                SecurityContextHolder.getContext().setAuthentication(authToken);
+                if (userDetails != null) {
+                    UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
+                            userDetails, null, userDetails.getAuthorities());
+                    authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+                    SecurityContextHolder.getContext().setAuthentication(authToken);
+                }
             }
+            sample.stop(authenticationTimer);
         }
 
         filterChain.doFilter(request, response);
     }
+
+    /**
+     * L'utilisateur du token existe encore avec le même id. Sans requête tant qu'il est dans le cache ;
+     * sinon une lecture par email, qui écarte aussi après un redémarrage ou une suppression hors JPA
+     * les tokens que la liste en mémoire ne connaît pas.
+     */
+    private boolean userExists(UserPrincipal principal) {
+        return userPrincipalCache.get(principal.getEmail(), email -> userRepository.findByEmail(email).map(UserPrincipal::from))
+                .filter(cached -> cached.getId().equals(principal.getId()))
+                .isPresent();
+    }
 }
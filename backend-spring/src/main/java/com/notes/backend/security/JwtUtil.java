@@ -1,16 +1,26 @@
 package com.notes.backend.security;
 
+import com.notes.backend.model.User;
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.security.Keys;
+import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.stereotype.Component;
 
 import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.security.Key;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
 import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
 import java.util.function.Function;
+import java.util.stream.Collectors;
 
 /**
  * Utilitaire pour la gestion des tokens JWT
@@ -18,6 +28,14 @@ import java.util.function.Function;
 @Component
 public class JwtUtil {
 
+    public static final String CLAIM_USER_ID = "uid";
+    public static final String CLAIM_NAME = "name";
+    public static final String CLAIM_ROLES = "roles";
+    public static final String CLAIM_TYPE = "type";
+    public static final String TYPE_REFRESH = "refresh";
+    public static final String ROLE_USER = "ROLE_USER";
+    public static final String ROLE_ADMIN = "ROLE_ADMIN";
+
     @Value("${jwt.secret}")
     private String secret;
 
@@ -27,12 +45,81 @@ public class JwtUtil {
     @Value("${jwt.refresh-expiration}")
     private Long refreshExpiration;
 
+    // Identifiant (kid) de la clé de signature active
+    @Value("${jwt.key-id:default}")
+    private String keyId;
+
+    // Anciennes clés encore acceptées en vérification, au format "kid1:secret1,kid2:secret2"
+    @Value("${jwt.verification-keys:}")
+    private String verificationKeysConfig;
+
+    // Comptes administrateurs (reconfiguration de l'actuator) ; vide par défaut
+    @Value("${auth.admin-emails:}")
+    private Set<String> adminEmailsConfig;
+
+    // Clé et parser construits une seule fois au démarrage
+    private SecretKey signingKey;
+    private Map<String, SecretKey> verificationKeys;
+    private JwtParser parser;
+    private Set<String> adminEmails;
+
+    @PostConstruct
+    void init() {
+        adminEmails = adminEmailsConfig.stream()
+                .map(email -> email.trim().toLowerCase(Locale.ROOT))
+                .filter(email -> !email.isEmpty())
+                .collect(Collectors.toUnmodifiableSet());
+        signingKey = Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
+
+        Map<String, SecretKey> keys = new HashMap<>();
+        for (String entry : verificationKeysConfig.split(",")) {
+            int separator = entry.indexOf(':');
+            if (separator > 0) {
+                keys.put(entry.substring(0, separator).trim(),
+                        Keys.hmacShaKeyFor(entry.substring(separator + 1).trim().getBytes(StandardCharsets.UTF_8)));
+            }
+        }
+        keys.put(keyId, signingKey);
+        verificationKeys = Map.copyOf(keys);
+
+        parser = Jwts.parser()
+                .keyLocator(new LocatorAdapter<Key>() {
+                    @Override
+                    protected Key locate(JwsHeader header) {
+                        // Les tokens émis avant la rotation n'ont pas de kid : clé active
+                        String kid = header.getKeyId();
+                        if (kid == null) {
+                            return signingKey;
+                        }
+                        SecretKey key = verificationKeys.get(kid);
+                        if (key == null) {
+                            throw new UnsupportedJwtException("Unknown signing key id: " + kid);
+                        }
+                        return key;
+                    }
+                })
+                .build();
+    }
+
     /**
-     * Génère un token d'accès
+     * Génère un token d'accès portant l'ID, le nom et les rôles de l'utilisateur,
+     * ce qui permet de l'authentifier sans accès à la base
      */
-    public String generateAccessToken(String email) {
+    public String generateAccessToken(User user) {
         Map<String, Object> claims = new HashMap<>();
-        return createToken(claims, email, expiration);
+        claims.put(CLAIM_USER_ID, user.getId());
+        claims.put(CLAIM_NAME, user.getName());
+        claims.put(CLAIM_ROLES, rolesOf(user.getEmail()));
+        return createToken(claims, user.getEmail(), expiration);
+    }
+
+    /**
+     * Rôles accordés à un compte : ROLE_ADMIN s'ajoute pour les emails de auth.admin-emails
+     */
+    private List<String> rolesOf(String email) {
+        return email != null && adminEmails.contains(email.toLowerCase(Locale.ROOT))
+                ? List.of(ROLE_USER, ROLE_ADMIN)
+                : List.of(ROLE_USER);
     }
 
     /**
@@ -40,7 +127,7 @@ public class JwtUtil {
      */
     public String generateRefreshToken(String email) {
         Map<String, Object> claims = new HashMap<>();
-        claims.put("type", "refresh");
+        claims.put(CLAIM_TYPE, TYPE_REFRESH);
         return createToken(claims, email, refreshExpiration);
     }
 
@@ -50,59 +137,67 @@ public class JwtUtil {
     private String createToken(Map<String, Object> claims, String subject, Long expiration) {
         return Jwts.builder()
                 .claims(claims)
+                .id(UUID.randomUUID().toString())
                 .subject(subject)
                 .issuedAt(new Date(System.currentTimeMillis()))
                 .expiration(new Date(System.currentTimeMillis() + expiration))
-                .signWith(getSigningKey())
+                .header().keyId(keyId).and()
+                .signWith(signingKey)
                 .compact();
     }
 
     /**
-     * Extrait l'email du token
+     * Vérifie la signature et l'expiration du token en une seule passe et retourne ses claims
+     *
+     * @throws JwtException si le token est invalide ou expiré
      */
-    public String extractEmail(String token) {
-        return extractClaim(token, Claims::getSubject);
+    public Claims parseClaims(String token) {
+        return parser.parseSignedClaims(token).getPayload();
     }
 
     /**
-     * Extrait la date d'expiration du token
+     * Construit le principal à partir des claims d'un token d'accès,
+     * ou retourne null si le token ne porte pas l'identité complète (ancien format)
      */
-    public Date extractExpiration(String token) {
-        return extractClaim(token, Claims::getExpiration);
+    public UserPrincipal toPrincipal(Claims claims) {
+        Long userId = claims.get(CLAIM_USER_ID, Long.class);
+        List<?> roles = claims.get(CLAIM_ROLES, List.class);
+        if (userId == null || roles == null) {
+            return null;
+        }
+        List<GrantedAuthority> authorities = roles.stream()
+                .<GrantedAuthority>map(role -> new SimpleGrantedAuthority(role.toString()))
+                .toList();
+        return new UserPrincipal(userId, claims.getSubject(), claims.get(CLAIM_NAME, String.class), null, authorities);
     }
 
     /**
-     * Extrait une claim spécifique du token
+     * Indique si les claims sont celles d'un refresh token
      */
-    public <T> T extractClaim(String token, Function<Claims, T> claimsResolver) {
-        final Claims claims = extractAllClaims(token);
-        return claimsResolver.apply(claims);
+    public boolean isRefreshToken(Claims claims) {
+        return TYPE_REFRESH.equals(claims.get(CLAIM_TYPE, String.class));
     }
 
     /**
-     * Extrait toutes les claims du token
+     * Extrait l'email du token
      */
-    private Claims extractAllClaims(String token) {
-        return Jwts.parser()
-                .verifyWith(getSigningKey())
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
+    public String extractEmail(String token) {
+        return extractClaim(token, Claims::getSubject);
     }
 
     /**
-     * Vérifie si le token est expiré
+     * Extrait la date d'expiration du token
      */
-    private Boolean isTokenExpired(String token) {
-        return extractExpiration(token).before(new Date());
+    public Date extractExpiration(String token) {
+        return extractClaim(token, Claims::getExpiration);
     }
 
     /**
-     * Valide un token JWT
+     * Extrait une claim spécifique du token
      */
-    public Boolean validateToken(String token, UserDetails userDetails) {
-        final String email = extractEmail(token);
-        return (email.equals(userDetails.getUsername()) && !isTokenExpired(token));
+    public <T> T extractClaim(String token, Function<Claims, T> claimsResolver) {
+        final Claims claims = parseClaims(token);
+        return claimsResolver.apply(claims);
     }
 
     /**
@@ -110,24 +205,13 @@ public class JwtUtil {
      */
     public Boolean validateToken(String token) {
         try {
-            Jwts.parser()
-                .verifyWith(getSigningKey())
-                .build()
-                .parseSignedClaims(token);
+            parseClaims(token);
             return true;
         } catch (JwtException | IllegalArgumentException e) {
             return false;
         }
     }
 
-    /**
-     * Obtient la clé de signature
-     */
-    private SecretKey getSigningKey() {
-        byte[] keyBytes = secret.getBytes();
-        return Keys.hmacShaKeyFor(keyBytes);
-    }
-
     /**
      * Obtient le temps d'expiration en millisecondes
      */
@@ -0,0 +1,83 @@
+package com.notes.backend.security;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Date;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Liste en mémoire des tokens révoqués (par identifiant jti) jusqu'à leur expiration,
+ * et des utilisateurs supprimés dont tous les tokens d'accès sont refusés
+ */
+@Component
+public class TokenDenylist {
+
+    // Purge des entrées expirées au-delà de cette taille
+    private static final int PURGE_THRESHOLD = 10_000;
+
+    private final ConcurrentHashMap<String, Long> revoked = new ConcurrentHashMap<>();
+
+    // Utilisateur supprimé -> fin de validité du dernier token d'accès qu'il a pu recevoir
+    private final ConcurrentHashMap<Long, Long> deletedUsers = new ConcurrentHashMap<>();
+
+    @Value("${jwt.revocation-check:true}")
+    private boolean enabled;
+
+    @Value("${jwt.expiration}")
+    private long accessTokenLifetimeMillis;
+
+    /**
+     * Révoque un token jusqu'à sa date d'expiration
+     */
+    public void revoke(String tokenId, Date expiresAt) {
+        if (tokenId == null) {
+            return;
+        }
+        if (revoked.size() >= PURGE_THRESHOLD) {
+            long now = System.currentTimeMillis();
+            revoked.values().removeIf(expiry -> expiry <= now);
+        }
+        revoked.put(tokenId, expiresAt != null ? expiresAt.getTime() : Long.MAX_VALUE);
+    }
+
+    /**
+     * Indique si un token a été révoqué (toujours faux si la vérification est désactivée)
+     */
+    public boolean isRevoked(String tokenId) {
+        if (!enabled || tokenId == null || revoked.isEmpty()) {
+            return false;
+        }
+        Long expiry = revoked.get(tokenId);
+        return expiry != null && expiry > System.currentTimeMillis();
+    }
+
+    /**
+     * Refuse tous les tokens d'accès déjà émis pour un utilisateur supprimé, jusqu'à leur expiration
+     */
+    public void revokeUser(Long userId) {
+        long now = System.currentTimeMillis();
+        if (deletedUsers.size() >= PURGE_THRESHOLD) {
+            deletedUsers.values().removeIf(expiry -> expiry <= now);
+        }
+        deletedUsers.put(userId, now + accessTokenLifetimeMillis);
+    }
+
+    /**
+     * Annule le refus des tokens d'un utilisateur (suppression annulée par un rollback)
+     */
+    public void restoreUser(Long userId) {
+        deletedUsers.remove(userId);
+    }
+
+    /**
+     * Indique si l'utilisateur a été supprimé depuis l'émission de ses tokens encore valides
+     */
+    public boolean isUserRevoked(Long userId) {
+        if (userId == null || deletedUsers.isEmpty()) {
+            return false;
+        }
+        Long expiry = deletedUsers.get(userId);
+        return expiry != null && expiry > System.currentTimeMillis();
+    }
+}
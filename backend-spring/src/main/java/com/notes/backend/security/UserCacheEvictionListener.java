@@ -0,0 +1,46 @@
+package com.notes.backend.security;
+
+import com.notes.backend.model.User;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Listener JPA qui invalide le cache des utilisateurs authentifiés lors d'une modification ou suppression
+ */
+public class UserCacheEvictionListener {
+
+    @Autowired
+    private UserPrincipalCache userPrincipalCache;
+
+    @Autowired
+    private TokenDenylist tokenDenylist;
+
+    @PostUpdate
+    public void evict(User user) {
+        userPrincipalCache.evictUser(user.getId());
+    }
+
+    /**
+     * Les tokens de l'utilisateur sont refusés dès la suppression (avant le commit),
+     * et de nouveau acceptés si la transaction est annulée
+     */
+    @PostRemove
+    public void revoke(User user) {
+        Long userId = user.getId();
+        tokenDenylist.revokeUser(userId);
+        userPrincipalCache.evictUser(userId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    if (status == STATUS_ROLLED_BACK) {
+                        tokenDenylist.restoreUser(userId);
+                    }
+                }
+            });
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package com.notes.backend.security;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * Cache borné (taille et durée de vie) des utilisateurs authentifiés, indexé par email
+ */
+@Component
+public class UserPrincipalCache {
+
+    private final ConcurrentHashMap<String, Entry> entries = new ConcurrentHashMap<>();
+    private final long ttlMillis;
+    private final int maxSize;
+    private final Counter hits;
+    private final Counter misses;
+
+    public UserPrincipalCache(@Value("${auth.principal-cache.ttl:5m}") Duration ttl,
+                              @Value("${auth.principal-cache.max-size:10000}") int maxSize,
+                              MeterRegistry meterRegistry) {
+        this.ttlMillis = ttl.toMillis();
+        this.maxSize = maxSize;
+        this.hits = Counter.builder("auth.principal.cache.requests")
+                .description("Résolutions d'utilisateur servies par le cache")
+                .tag("result", "hit")
+                .register(meterRegistry);
+        this.misses = Counter.builder("auth.principal.cache.requests")
+                .description("Résolutions d'utilisateur servies par la base")
+                .tag("result", "miss")
+                .register(meterRegistry);
+        Gauge.builder("auth.principal.cache.size", entries, Map::size)
+                .description("Nombre d'utilisateurs en cache")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Retourne l'utilisateur en cache ou le charge (et le met en cache) via le loader
+     */
+    public Optional<UserPrincipal> get(String email, Function<String, Optional<UserPrincipal>> loader) {
+        long now = System.currentTimeMillis();
+        Entry entry = entries.get(email);
+        if (entry != null && entry.expiresAt > now) {
+            hits.increment();
+            return Optional.of(entry.principal);
+        }
+
+        misses.increment();
+        Optional<UserPrincipal> loaded = loader.apply(email);
+        loaded.ifPresent(principal -> {
+            if (entries.size() >= maxSize) {
+                evictOverflow(now);
+            }
+            entries.put(email, new Entry(principal, now + ttlMillis));
+        });
+        return loaded;
+    }
+
+    /**
+     * Invalide l'entrée d'un email
+     */
+    public void evict(String email) {
+        entries.remove(email);
+    }
+
+    /**
+     * Invalide toutes les entrées d'un utilisateur (y compris sous un ancien email)
+     */
+    public void evictUser(Long userId) {
+        entries.values().removeIf(entry -> entry.principal.getId().equals(userId));
+    }
+
+    /**
+     * Supprime les entrées expirées, puis des entrées arbitraires si le cache reste plein
+     */
+    private void evictOverflow(long now) {
+        entries.values().removeIf(entry -> entry.expiresAt <= now);
+        Iterator<String> keys = entries.keySet().iterator();
+        while (entries.size() >= maxSize && keys.hasNext()) {
+            keys.next();
+            keys.remove();
+        }
+    }
+
+    private record Entry(UserPrincipal principal, long expiresAt) {}
+}
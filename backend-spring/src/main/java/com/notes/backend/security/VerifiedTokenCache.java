@@ -0,0 +1,140 @@
+package com.notes.backend.security;
+
+import io.jsonwebtoken.Claims;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Cache borné des tokens déjà vérifiés, indexé par empreinte SHA-256 du token.
+ * Un succès évite la vérification HMAC et le parsing JSON ; les entrées expirent avec le token.
+ * Les lectures ne prennent aucun verrou ; cache plein, une entrée expirée ou la moins récemment
+ * utilisée d'un échantillon est évincée (LRU approché, coût borné par la taille de l'échantillon).
+ */
+@Component
+public class VerifiedTokenCache {
+
+    // Nombre d'entrées examinées pour choisir la victime d'une éviction
+    private static final int EVICTION_SAMPLE_SIZE = 16;
+
+    private final ConcurrentHashMap<String, Entry> entries = new ConcurrentHashMap<>();
+    private final boolean enabled;
+    private final int maxSize;
+    private final Counter hits;
+    private final Counter misses;
+
+    public VerifiedTokenCache(@Value("${jwt.token-cache.enabled:true}") boolean enabled,
+                              @Value("${jwt.token-cache.max-size:10000}") int maxSize,
+                              MeterRegistry meterRegistry) {
+        this.enabled = enabled;
+        this.maxSize = maxSize;
+        this.hits = Counter.builder("auth.token.cache.requests")
+                .description("Tokens servis par le cache de vérification")
+                .tag("result", "hit")
+                .register(meterRegistry);
+        this.misses = Counter.builder("auth.token.cache.requests")
+                .description("Tokens vérifiés cryptographiquement")
+                .tag("result", "miss")
+                .register(meterRegistry);
+        Gauge.builder("auth.token.cache.size", entries, Map::size)
+                .description("Nombre de tokens vérifiés en cache")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Retourne les claims d'un token déjà vérifié et non expiré, ou null
+     */
+    public Claims get(String token) {
+        if (!enabled) {
+            return null;
+        }
+        String key = fingerprint(token);
+        Entry entry = entries.get(key);
+        if (entry != null) {
+            if (entry.expiresAt > System.currentTimeMillis()) {
+                entry.lastAccess = System.nanoTime();
+                hits.increment();
+                return entry.claims;
+            }
+            entries.remove(key, entry);
+        }
+        misses.increment();
+        return null;
+    }
+
+    /**
+     * Met en cache les claims d'un token dont la signature vient d'être vérifiée
+     */
+    public void put(String token, Claims claims) {
+        if (!enabled || maxSize <= 0 || claims.getExpiration() == null) {
+            return;
+        }
+        String key = fingerprint(token);
+        while (entries.size() >= maxSize && !entries.containsKey(key)) {
+            evictOne();
+        }
+        entries.put(key, new Entry(claims, claims.getExpiration().getTime(), System.nanoTime()));
+    }
+
+    /**
+     * Nombre de tokens en cache (y compris ceux expirés pas encore évincés)
+     */
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * Évince la première entrée expirée de l'échantillon, sinon la moins récemment utilisée
+     */
+    private void evictOne() {
+        long now = System.currentTimeMillis();
+        Map.Entry<String, Entry> victim = null;
+        int sampled = 0;
+        for (Map.Entry<String, Entry> candidate : entries.entrySet()) {
+            if (candidate.getValue().expiresAt <= now) {
+                victim = candidate;
+                break;
+            }
+            if (victim == null || candidate.getValue().lastAccess < victim.getValue().lastAccess) {
+                victim = candidate;
+            }
+            if (++sampled >= EVICTION_SAMPLE_SIZE) {
+                break;
+            }
+        }
+        if (victim != null) {
+            entries.remove(victim.getKey(), victim.getValue());
+        }
+    }
+
+    private static String fingerprint(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private static final class Entry {
+        private final Claims claims;
+        private final long expiresAt;
+        // Écrit sans verrou à chaque succès ; une valeur légèrement périmée ne fausse que le choix de la victime
+        private volatile long lastAccess;
+
+        private Entry(Claims claims, long expiresAt, long lastAccess) {
+            this.claims = claims;
+            this.expiresAt = expiresAt;
+            this.lastAccess = lastAccess;
+        }
+    }
+}
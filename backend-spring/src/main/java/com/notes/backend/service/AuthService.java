@@ -6,29 +6,35 @@ import com.notes.backend.dto.RegisterRequest;
 import com.notes.backend.model.User;
 import com.notes.backend.repository.UserRepository;
 import com.notes.backend.security.JwtUtil;
+import com.notes.backend.security.PasswordHashingService;
+import com.notes.backend.security.TokenDenylist;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
 import java.util.Optional;
 
 /**
- * Service pour l'authentification des utilisateurs
+ * Service pour l'authentification des utilisateurs.
+ * Sans transaction englobante : le hachage (jusqu'au délai du pool de hachage) se fait sans tenir
+ * de connexion, seules les lectures et écritures de l'utilisateur ouvrent une courte transaction.
  */
 @Service
-@Transactional
 public class AuthService {
 
     @Autowired
     private UserRepository userRepository;
 
     @Autowired
-    private PasswordEncoder passwordEncoder;
+    private PasswordHashingService passwordHashingService;
 
     @Autowired
     private JwtUtil jwtUtil;
 
+    @Autowired
+    private TokenDenylist tokenDenylist;
+
     /**
      * Inscription d'un nouvel utilisateur
      */
@@ -38,17 +44,20 @@ public class AuthService {
             throw new RuntimeException("Email already exists");
         }
 
+        // Hacher avant d'ouvrir la transaction d'écriture
+        String passwordHash = passwordHashingService.encode(request.getPassword());
+
         // Créer le nouvel utilisateur
         User user = new User();
         user.setName(request.getName());
         user.setEmail(request.getEmail());
-        user.setPasswordHash(passwordEncoder.encode(request.getPassword()));
+        user.setPasswordHash(passwordHash);
 
         // Sauvegarder l'utilisateur
         User savedUser = userRepository.save(user);
 
         // Générer les tokens JWT
-        String accessToken = jwtUtil.generateAccessToken(savedUser.getEmail());
+        String accessToken = jwtUtil.generateAccessToken(savedUser);
         String refreshToken = jwtUtil.generateRefreshToken(savedUser.getEmail());
 
         // Retourner la réponse
@@ -68,12 +77,18 @@ public class AuthService {
         User user = userOptional.get();
 
         // Vérifier le mot de passe
-        if (!passwordEncoder.matches(request.getPassword(), user.getPasswordHash())) {
+        if (!passwordHashingService.matches(request.getPassword(), user.getPasswordHash())) {
             throw new RuntimeException("Invalid email or password");
         }
 
+        // Recalculer l'empreinte si l'algorithme ou le coût configuré a changé
+        if (passwordHashingService.upgradeEncoding(user.getPasswordHash())) {
+            user.setPasswordHash(passwordHashingService.encode(request.getPassword()));
+            user = userRepository.save(user);
+        }
+
         // Générer les tokens JWT
-        String accessToken = jwtUtil.generateAccessToken(user.getEmail());
+        String accessToken = jwtUtil.generateAccessToken(user);
         String refreshToken = jwtUtil.generateRefreshToken(user.getEmail());
 
         // Retourner la réponse
@@ -84,13 +99,19 @@ public class AuthService {
      * Rafraîchir le token d'accès
      */
     public AuthResponse refreshToken(String refreshToken) {
-        // Valider le refresh token
-        if (!jwtUtil.validateToken(refreshToken)) {
+        // Valider le refresh token (signature et expiration vérifiées en une seule passe)
+        Claims claims;
+        try {
+            claims = jwtUtil.parseClaims(refreshToken);
+        } catch (JwtException | IllegalArgumentException e) {
+            throw new RuntimeException("Invalid refresh token");
+        }
+        if (tokenDenylist.isRevoked(claims.getId())) {
             throw new RuntimeException("Invalid refresh token");
         }
 
         // Extraire l'email du token
-        String email = jwtUtil.extractEmail(refreshToken);
+        String email = claims.getSubject();
         
         // Trouver l'utilisateur
         Optional<User> userOptional = userRepository.findByEmail(email);
@@ -101,12 +122,24 @@ public class AuthService {
         User user = userOptional.get();
 
         // Générer un nouveau token d'accès
-        String newAccessToken = jwtUtil.generateAccessToken(user.getEmail());
+        String newAccessToken = jwtUtil.generateAccessToken(user);
 
         // Retourner la réponse
         return new AuthResponse(newAccessToken, refreshToken, jwtUtil.getExpirationTime(), user);
     }
 
+    /**
+     * Déconnexion : révoque le token présenté (accès ou refresh) jusqu'à son expiration
+     */
+    public void logout(String token) {
+        try {
+            Claims claims = jwtUtil.parseClaims(token);
+            tokenDenylist.revoke(claims.getId(), claims.getExpiration());
+        } catch (JwtException | IllegalArgumentException e) {
+            // Token déjà invalide ou expiré : rien à révoquer
+        }
+    }
+
     /**
      * Trouver un utilisateur par email
      */
@@ -0,0 +1,154 @@
+package com.notes.backend.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.commonmark.Extension;
+import org.commonmark.ext.gfm.tables.TablesExtension;
+import org.commonmark.node.Link;
+import org.commonmark.parser.Parser;
+import org.commonmark.renderer.html.HtmlRenderer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Rendu HTML du markdown des notes, assaini côté serveur.
+ * Le HTML brut du markdown est échappé et les URL dangereuses (javascript:, data:...) neutralisées.
+ * Le rendu de la dernière version de chaque note est conservé dans un cache concurrent borné en caractères
+ * (éviction LRU approchée sur échantillon) : une note est rendue une fois par modification, pas une fois par lecture.
+ */
+@Component
+public class MarkdownRenderer {
+
+    private static final List<Extension> EXTENSIONS = List.of(TablesExtension.create());
+
+    // Nombre d'entrées examinées pour choisir la victime d'une éviction
+    private static final int EVICTION_SAMPLE_SIZE = 16;
+
+    // Parser et HtmlRenderer sont sans état et partageables entre threads
+    private final Parser parser = Parser.builder().extensions(EXTENSIONS).build();
+    private final HtmlRenderer renderer = HtmlRenderer.builder()
+            .extensions(EXTENSIONS)
+            .escapeHtml(true)
+            .sanitizeUrls(true)
+            .attributeProviderFactory(context -> (node, tagName, attributes) -> {
+                if (node instanceof Link) {
+                    attributes.put("rel", "nofollow noopener noreferrer");
+                }
+            })
+            .build();
+
+    // id de note -> rendu de sa dernière version ; lu sans verrou
+    private final ConcurrentHashMap<Long, Entry> cache = new ConcurrentHashMap<>();
+    private final long maxChars;
+    private final AtomicLong cachedChars = new AtomicLong();
+
+    private final Counter hits;
+    private final Counter misses;
+    private final Timer renderTimer;
+
+    public MarkdownRenderer(@Value("${markdown.render-cache.max-chars:20000000}") long maxChars,
+                            MeterRegistry meterRegistry) {
+        this.maxChars = maxChars;
+        this.hits = Counter.builder("markdown.render.cache.requests")
+                .description("Rendus HTML servis par le cache")
+                .tag("result", "hit")
+                .register(meterRegistry);
+        this.misses = Counter.builder("markdown.render.cache.requests")
+                .description("Rendus HTML calculés")
+                .tag("result", "miss")
+                .register(meterRegistry);
+        this.renderTimer = Timer.builder("markdown.render.duration")
+                .description("Durée du rendu markdown vers HTML")
+                .register(meterRegistry);
+        Gauge.builder("markdown.render.cache.chars", cachedChars, AtomicLong::get)
+                .description("Taille du cache de rendus HTML, en caractères")
+                .register(meterRegistry);
+    }
+
+    /**
+     * HTML assaini d'une version de note, calculé au plus une fois par version tant qu'il reste en cache
+     */
+    public String render(Long noteId, Long version, String markdown) {
+        Entry entry = cache.get(noteId);
+        if (entry != null && entry.version.equals(version)) {
+            entry.lastAccess = System.nanoTime();
+            hits.increment();
+            return entry.html;
+        }
+        misses.increment();
+
+        // Deux lecteurs simultanés d'une même version peuvent la rendre deux fois
+        String html = renderTimer.record(() -> render(markdown));
+        put(noteId, new Entry(version, html));
+        return html;
+    }
+
+    /**
+     * HTML assaini d'un markdown, sans cache
+     */
+    public String render(String markdown) {
+        if (markdown == null || markdown.isEmpty()) {
+            return "";
+        }
+        return renderer.render(parser.parse(markdown));
+    }
+
+    private void put(Long noteId, Entry entry) {
+        long size = entry.html.length();
+        if (size > maxChars) {
+            return;
+        }
+        cache.compute(noteId, (id, previous) -> {
+            // Ne pas remplacer un rendu plus récent déposé entre-temps
+            if (previous != null && previous.version > entry.version) {
+                return previous;
+            }
+            cachedChars.addAndGet(previous != null ? size - previous.html.length() : size);
+            return entry;
+        });
+        while (cachedChars.get() > maxChars && !cache.isEmpty()) {
+            evictOne();
+        }
+    }
+
+    /**
+     * Évince le rendu le moins récemment lu parmi un échantillon du cache (coût borné)
+     */
+    private void evictOne() {
+        Map.Entry<Long, Entry> victim = null;
+        int sampled = 0;
+        for (Map.Entry<Long, Entry> candidate : cache.entrySet()) {
+            if (victim == null || candidate.getValue().lastAccess < victim.getValue().lastAccess) {
+                victim = candidate;
+            }
+            if (++sampled >= EVICTION_SAMPLE_SIZE) {
+                break;
+            }
+        }
+        if (victim != null && cache.remove(victim.getKey(), victim.getValue())) {
+            cachedChars.addAndGet(-victim.getValue().html.length());
+        }
+    }
+
+    /**
+     * Rendu d'une version de note et date de sa dernière lecture
+     */
+    private static final class Entry {
+        private final Long version;
+        private final String html;
+        // Écrit sans verrou à chaque succès ; une valeur légèrement périmée ne fausse que le choix de la victime
+        private volatile long lastAccess = System.nanoTime();
+
+        private Entry(Long version, String html) {
+            this.version = version;
+            this.html = html;
+        }
+    }
+}
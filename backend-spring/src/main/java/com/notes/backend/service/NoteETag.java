@@ -0,0 +1,99 @@
+package com.notes.backend.service;
+
+import com.notes.backend.dto.NoteVersion;
+
+import java.time.Instant;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.ChronoUnit;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Conversion entre la version d'une note et son ETag HTTP ("&lt;version&gt;" ou "&lt;version&gt;.&lt;partages&gt;"),
+ * et évaluation des requêtes conditionnelles (If-Match, If-None-Match, If-Modified-Since)
+ */
+public final class NoteETag {
+
+    private NoteETag() {}
+
+    /**
+     * ETag fort correspondant à une version du contenu et un compteur de partages
+     */
+    public static String of(Long version, Long sharingVersion) {
+        return sharingVersion == null || sharingVersion == 0
+                ? "\"" + version + "\""
+                : "\"" + version + "." + sharingVersion + "\"";
+    }
+
+    /**
+     * ETag fort d'une version lue en base
+     */
+    public static String of(NoteVersion version) {
+        return of(version.version(), version.sharingVersion());
+    }
+
+    /**
+     * Versions du contenu acceptées par un en-tête If-Match (liste séparée par des virgules) ;
+     * null si l'en-tête est absent ou vaut "*". If-Match exige une comparaison forte : les ETags faibles (W/)
+     * ne correspondent à aucune version, un en-tête qui n'en contient pas d'autre donne donc 412.
+     * Le compteur de partages de l'ETag est ignoré : un partage ne fait pas échouer une modification.
+     */
+    public static Set<Long> parseIfMatch(String header) {
+        if (header == null || header.isBlank() || header.trim().equals("*")) {
+            return null;
+        }
+        Set<Long> versions = new HashSet<>();
+        for (String tag : header.split(",")) {
+            String value = tag.trim();
+            if (value.startsWith("W/")) {
+                continue;
+            }
+            if (value.length() >= 2 && value.startsWith("\"") && value.endsWith("\"")) {
+                value = value.substring(1, value.length() - 1);
+            }
+            int separator = value.indexOf('.');
+            if (separator >= 0) {
+                value = value.substring(0, separator);
+            }
+            try {
+                versions.add(Long.parseLong(value));
+            } catch (NumberFormatException e) {
+                throw new RuntimeException("Invalid If-Match header: " + header);
+            }
+        }
+        return versions;
+    }
+
+    /**
+     * Indique si la représentation connue du client est toujours à jour (réponse 304).
+     * If-None-Match est prioritaire ; If-Modified-Since n'est évalué qu'en son absence.
+     */
+    public static boolean isNotModified(String ifNoneMatch, String ifModifiedSince, NoteVersion current) {
+        String etag = of(current);
+        Instant lastModified = current.lastModified();
+        if (ifNoneMatch != null) {
+            for (String tag : ifNoneMatch.split(",")) {
+                String value = tag.trim();
+                if (value.startsWith("W/")) {
+                    value = value.substring(2);
+                }
+                if (value.equals("*") || value.equals(etag)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+        if (ifModifiedSince != null && lastModified != null) {
+            try {
+                Instant since = ZonedDateTime.parse(ifModifiedSince.trim(), DateTimeFormatter.RFC_1123_DATE_TIME).toInstant();
+                // Les dates HTTP sont à la seconde près
+                return !lastModified.truncatedTo(ChronoUnit.SECONDS).isAfter(since);
+            } catch (DateTimeParseException e) {
+                return false;
+            }
+        }
+        return false;
+    }
+}
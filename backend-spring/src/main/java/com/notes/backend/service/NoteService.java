@@ -1,27 +1,46 @@
 package com.notes.backend.service;
 
+import com.notes.backend.dto.CursorPage;
+import com.notes.backend.dto.NotePatchRequest;
+import com.notes.backend.dto.NotePatchResponse;
 import com.notes.backend.dto.NoteRequest;
 import com.notes.backend.dto.NoteResponse;
+import com.notes.backend.dto.NoteSummary;
+import com.notes.backend.dto.NoteVersion;
+import com.notes.backend.exception.PreconditionFailedException;
+import com.notes.backend.exception.ServiceBusyException;
 import com.notes.backend.model.Note;
+import com.notes.backend.model.NoteAccess;
 import com.notes.backend.model.NoteTag;
 import com.notes.backend.model.Tag;
 import com.notes.backend.model.User;
+import com.notes.backend.repository.NoteAccessRepository;
 import com.notes.backend.repository.NoteRepository;
 import com.notes.backend.repository.TagRepository;
-import com.notes.backend.repository.UserRepository;
+import com.notes.backend.search.NoteSearchIndex;
+import com.notes.backend.search.SearchHighlighter;
+import com.notes.backend.security.AuthenticatedUserResolver;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
-import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 /**
  * Service pour la gestion des notes
@@ -30,6 +49,15 @@ import java.util.Set;
 @Transactional
 public class NoteService {
 
+    // Taille maximale du contenu (même limite que la validation de Note.contentMd)
+    private static final int MAX_CONTENT_LENGTH = 50000;
+
+    // Délai suggéré au client pendant la construction de l'index de recherche
+    private static final long SEARCH_RETRY_AFTER_SECONDS = 5;
+
+    // Nombre maximal d'IDs par clause IN lors du filtrage des résultats de recherche
+    private static final int SEARCH_FILTER_BATCH_SIZE = 1000;
+
     @Autowired
     private NoteRepository noteRepository;
 
@@ -37,7 +65,25 @@ public class NoteService {
     private TagRepository tagRepository;
 
     @Autowired
-    private UserRepository userRepository;
+    private NoteAccessRepository noteAccessRepository;
+
+    @Autowired
+    private TagDictionary tagDictionary;
+
+    @Autowired
+    private TagUsageCounter tagUsageCounter;
+
+    @Autowired
+    private PublicNoteCache publicNoteCache;
+
+    @Autowired
+    private MarkdownRenderer markdownRenderer;
+
+    @Autowired
+    private AuthenticatedUserResolver authenticatedUserResolver;
+
+    @Autowired
+    private NoteSearchIndex searchIndex;
 
     /**
      * Récupère toutes les notes d'un utilisateur avec pagination et filtres
@@ -45,23 +91,180 @@ public class NoteService {
     @Transactional(readOnly = true)
     public Page<NoteResponse> getUserNotes(String userEmail, String query, String tagLabel, 
                                          Note.Visibility visibility, int page, int size) {
-        User user = userRepository.findByEmail(userEmail)
+        User user = authenticatedUserResolver.findByEmail(userEmail)
                 .orElseThrow(() -> new RuntimeException("User not found"));
 
-        Pageable pageable = PageRequest.of(page, size, Sort.by(Sort.Direction.DESC, "updatedAt"));
-        
+        if (query != null && !query.isBlank()) {
+            Pageable pageable = PageRequest.of(page, size);
+            List<NoteSearchIndex.SearchHit> hits = searchAccessibleNotes(user, query, tagLabel, visibility);
+            List<NoteSearchIndex.SearchHit> pageHits = pageOf(hits, pageable);
+
+            Map<Long, Note> notesById = noteRepository.findAllById(noteIds(pageHits)).stream()
+                    .collect(Collectors.toMap(Note::getId, Function.identity()));
+
+            List<NoteResponse> content = new ArrayList<>(pageHits.size());
+            for (NoteSearchIndex.SearchHit hit : pageHits) {
+                Note note = notesById.get(hit.noteId());
+                if (note != null) {
+                    NoteResponse response = new NoteResponse(note);
+                    response.setScore(hit.score());
+                    response.setHighlight(SearchHighlighter.highlight(note.getTitle(), note.getContentMd(), query));
+                    content.add(response);
+                }
+            }
+            return new PageImpl<>(content, pageable, hits.size());
+        }
+
+        // Le tri est porté par la requête (ordre de l'index de la liste d'accès)
+        Pageable pageable = PageRequest.of(page, size);
+
         Page<Note> notes = noteRepository.findByUserWithFilters(
-                user, query, visibility, tagLabel, pageable);
+                user, visibility, tagLabel, pageable);
 
         return notes.map(NoteResponse::new);
     }
 
+    /**
+     * Récupère les résumés des notes d'un utilisateur (vue liste, sans contenu complet)
+     */
+    @Transactional(readOnly = true)
+    public Page<NoteSummary> getUserNoteSummaries(String userEmail, String query, String tagLabel,
+                                                  Note.Visibility visibility, int page, int size) {
+        User user = authenticatedUserResolver.findByEmail(userEmail)
+                .orElseThrow(() -> new RuntimeException("User not found"));
+
+        Pageable pageable = PageRequest.of(page, size);
+        if (query != null && !query.isBlank()) {
+            List<NoteSearchIndex.SearchHit> hits = searchAccessibleNotes(user, query, tagLabel, visibility);
+            List<NoteSearchIndex.SearchHit> pageHits = pageOf(hits, pageable);
+
+            List<Long> pageIds = noteIds(pageHits);
+            Map<Long, NoteSummary> summariesById = withTags(noteRepository.findSummariesByIdIn(pageIds)).stream()
+                    .collect(Collectors.toMap(NoteSummary::getId, Function.identity()));
+            // Surlignage sur le contenu complet : l'extrait ne couvre que le début de la note
+            Map<Long, String> contents = new HashMap<>();
+            for (Object[] row : noteRepository.findContentsByIdIn(pageIds)) {
+                contents.put((Long) row[0], (String) row[1]);
+            }
+
+            List<NoteSummary> content = new ArrayList<>(pageHits.size());
+            for (NoteSearchIndex.SearchHit hit : pageHits) {
+                NoteSummary summary = summariesById.get(hit.noteId());
+                if (summary != null) {
+                    summary.setScore(hit.score());
+                    summary.setHighlight(SearchHighlighter.highlight(summary.getTitle(), contents.get(hit.noteId()), query));
+                    content.add(summary);
+                }
+            }
+            return new PageImpl<>(content, pageable, hits.size());
+        }
+
+        Page<NoteSummary> summaries = noteRepository.findSummariesByUserWithFilters(user, visibility, tagLabel, pageable);
+        withTags(summaries.getContent());
+        return summaries;
+    }
+
+    /**
+     * Récupère les notes d'un utilisateur en pagination par curseur (updatedAt, id).
+     * Le coût d'une page ne dépend pas de sa position ; le total n'est calculé que sur demande.
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<NoteResponse> getUserNotesByCursor(String userEmail, String tagLabel,
+                                                         Note.Visibility visibility, String cursor,
+                                                         int size, boolean includeTotal) {
+        User user = authenticatedUserResolver.findByEmail(userEmail)
+                .orElseThrow(() -> new RuntimeException("User not found"));
+
+        NoteCursor position = NoteCursor.decode(cursor);
+        Pageable limit = PageRequest.of(0, size + 1);
+        List<Note> rows = position == null
+                ? noteRepository.findByUserWithFiltersFirst(user, visibility, tagLabel, limit)
+                : noteRepository.findByUserWithFiltersAfter(user, visibility, tagLabel,
+                        position.updatedAt(), position.id(), limit);
+
+        Long total = includeTotal ? noteRepository.countByUserWithFilters(user, visibility, tagLabel) : null;
+        return toCursorPage(rows, size, total, note -> new NoteCursor(note.getUpdatedAt(), note.getId()), NoteResponse::new);
+    }
+
+    /**
+     * Récupère les résumés des notes d'un utilisateur en pagination par curseur
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<NoteSummary> getUserNoteSummariesByCursor(String userEmail, String tagLabel,
+                                                                Note.Visibility visibility, String cursor,
+                                                                int size, boolean includeTotal) {
+        User user = authenticatedUserResolver.findByEmail(userEmail)
+                .orElseThrow(() -> new RuntimeException("User not found"));
+
+        NoteCursor position = NoteCursor.decode(cursor);
+        Pageable limit = PageRequest.of(0, size + 1);
+        List<NoteSummary> rows = position == null
+                ? noteRepository.findSummariesByUserWithFiltersFirst(user, visibility, tagLabel, limit)
+                : noteRepository.findSummariesByUserWithFiltersAfter(user, visibility, tagLabel,
+                        position.updatedAt(), position.id(), limit);
+
+        Long total = includeTotal ? noteRepository.countByUserWithFilters(user, visibility, tagLabel) : null;
+        CursorPage<NoteSummary> page = toCursorPage(rows, size, total,
+                summary -> new NoteCursor(summary.getUpdatedAt(), summary.getId()), Function.identity());
+        withTags(page.getContent());
+        return page;
+    }
+
+    /**
+     * Recherche plein texte via l'index inversé, limitée aux notes accessibles et triée par pertinence
+     */
+    private List<NoteSearchIndex.SearchHit> searchAccessibleNotes(User user, String query, String tagLabel,
+                                                                  Note.Visibility visibility) {
+        // Tant que l'index n'est pas complet, ses résultats seraient partiels
+        if (!searchIndex.isReady()) {
+            throw new ServiceBusyException("Search index is being built, retry later", SEARCH_RETRY_AFTER_SECONDS);
+        }
+
+        // L'index ne parcourt que les notes possédées par l'utilisateur ou partagées avec lui
+        List<NoteSearchIndex.SearchHit> accessible = new ArrayList<>(searchIndex.search(user.getId(), query));
+        if ((visibility != null || tagLabel != null) && !accessible.isEmpty()) {
+            List<Long> ids = noteIds(accessible);
+            Set<Long> matching = new HashSet<>();
+            for (int from = 0; from < ids.size(); from += SEARCH_FILTER_BATCH_SIZE) {
+                List<Long> batch = ids.subList(from, Math.min(from + SEARCH_FILTER_BATCH_SIZE, ids.size()));
+                matching.addAll(noteRepository.findIdsMatchingFilters(batch, visibility, tagLabel));
+            }
+            accessible.removeIf(hit -> !matching.contains(hit.noteId()));
+        }
+        return accessible;
+    }
+
+    private static List<NoteSearchIndex.SearchHit> pageOf(List<NoteSearchIndex.SearchHit> hits, Pageable pageable) {
+        int start = (int) Math.min(pageable.getOffset(), hits.size());
+        int end = Math.min(start + pageable.getPageSize(), hits.size());
+        return hits.subList(start, end);
+    }
+
+    private static List<Long> noteIds(List<NoteSearchIndex.SearchHit> hits) {
+        return hits.stream().map(NoteSearchIndex.SearchHit::noteId).toList();
+    }
+
+    /**
+     * Complète des résumés avec les labels de leurs tags (une seule requête)
+     */
+    private List<NoteSummary> withTags(List<NoteSummary> summaries) {
+        if (summaries.isEmpty()) {
+            return summaries;
+        }
+        Map<Long, NoteSummary> byId = summaries.stream()
+                .collect(Collectors.toMap(NoteSummary::getId, Function.identity()));
+        for (Object[] row : tagRepository.findLabelsByNoteIds(byId.keySet())) {
+            byId.get((Long) row[0]).getTags().add((String) row[1]);
+        }
+        return summaries;
+    }
+
     /**
      * Récupère une note par son ID
      */
     @Transactional(readOnly = true)
     public NoteResponse getNoteById(Long noteId, String userEmail) {
-        User user = userRepository.findByEmail(userEmail)
+        User user = authenticatedUserResolver.findByEmail(userEmail)
                 .orElseThrow(() -> new RuntimeException("User not found"));
 
         Note note = noteRepository.findByIdAndUserAccess(noteId, user)
@@ -70,11 +273,34 @@ public class NoteService {
         return new NoteResponse(note);
     }
 
+    /**
+     * Récupère une note par son ID avec son contenu rendu en HTML assaini (à la place du markdown)
+     */
+    @Transactional(readOnly = true)
+    public NoteResponse getNoteByIdAsHtml(Long noteId, String userEmail) {
+        NoteResponse note = getNoteById(noteId, userEmail);
+        note.setContentHtml(markdownRenderer.render(note.getId(), note.getVersion(), note.getContentMd()));
+        note.setContentMd(null);
+        return note;
+    }
+
+    /**
+     * Version courante d'une note accessible, pour les requêtes conditionnelles (sans charger la note)
+     */
+    @Transactional(readOnly = true)
+    public NoteVersion getNoteVersion(Long noteId, String userEmail) {
+        User user = authenticatedUserResolver.findByEmail(userEmail)
+                .orElseThrow(() -> new RuntimeException("User not found"));
+
+        return noteRepository.findVersionByIdAndUserAccess(noteId, user)
+                .orElseThrow(() -> new RuntimeException("Note not found"));
+    }
+
     /**
      * Crée une nouvelle note
      */
     public NoteResponse createNote(NoteRequest request, String userEmail) {
-        User user = userRepository.findByEmail(userEmail)
+        User user = authenticatedUserResolver.findByEmail(userEmail)
                 .orElseThrow(() -> new RuntimeException("User not found"));
 
         Note note = new Note();
@@ -83,21 +309,18 @@ public class NoteService {
         note.setContentMd(request.getContentMd());
         note.setVisibility(request.getVisibility() != null ? request.getVisibility() : Note.Visibility.PRIVATE);
 
-        // Sauvegarder d'abord la note sans les tags
-        Note savedNote = noteRepository.save(note);
-
-        // Gérer les tags après que la note soit persistée
         if (request.getTags() != null && !request.getTags().isEmpty()) {
-            for (String tagLabel : request.getTags()) {
-                Tag tag = getOrCreateTag(tagLabel);
-                // Créer directement le NoteTag et l'ajouter à la note
-                NoteTag noteTag = new NoteTag(savedNote, tag);
-                savedNote.getNoteTags().add(noteTag);
+            for (Tag tag : tagDictionary.getOrCreate(request.getTags())) {
+                note.getNoteTags().add(new NoteTag(note, tag));
             }
-            // Sauvegarder à nouveau avec les tags
-            savedNote = noteRepository.save(savedNote);
         }
 
+        // Ids pris dans les séquences : note, accès et tags sont insérés en batch à la validation
+        Note savedNote = noteRepository.save(note);
+        noteAccessRepository.save(new NoteAccess(user, savedNote, NoteAccess.Role.OWNER));
+
+        countTagsAfterCommit(user.getId(), Set.of(), tagIds(savedNote));
+        indexAfterCommit(savedNote);
         return new NoteResponse(savedNote);
     }
 
@@ -105,69 +328,221 @@ public class NoteService {
      * Met à jour une note
      */
     public NoteResponse updateNote(Long noteId, NoteRequest request, String userEmail) {
-        User user = userRepository.findByEmail(userEmail)
+        User user = authenticatedUserResolver.findByEmail(userEmail)
                 .orElseThrow(() -> new RuntimeException("User not found"));
 
         Note note = noteRepository.findByIdAndOwner(noteId, user)
                 .orElseThrow(() -> new RuntimeException("Note not found"));
 
-        // Mettre à jour les champs
-        note.setTitle(request.getTitle());
-        note.setContentMd(request.getContentMd());
-        if (request.getVisibility() != null) {
+        // Mettre à jour uniquement les champs modifiés
+        boolean fieldsChanged = false;
+        if (!Objects.equals(note.getTitle(), request.getTitle())) {
+            note.setTitle(request.getTitle());
+            fieldsChanged = true;
+        }
+        if (!Objects.equals(note.getContentMd(), request.getContentMd())) {
+            note.setContentMd(request.getContentMd());
+            fieldsChanged = true;
+        }
+        if (request.getVisibility() != null && note.getVisibility() != request.getVisibility()) {
             note.setVisibility(request.getVisibility());
+            fieldsChanged = true;
         }
 
-        // Gérer les tags
-        if (request.getTags() != null) {
-            // Supprimer tous les tags existants
-            note.getNoteTags().clear();
-            
-            // Ajouter les nouveaux tags
-            for (String tagLabel : request.getTags()) {
-                Tag tag = getOrCreateTag(tagLabel);
-                // Créer directement le NoteTag et l'ajouter à la note
-                NoteTag noteTag = new NoteTag(note, tag);
-                note.getNoteTags().add(noteTag);
-            }
+        boolean tagsChanged = request.getTags() != null && updateTags(note, user, request.getTags());
+
+        // Sauvegarde automatique sans modification : aucune écriture
+        if (!fieldsChanged && !tagsChanged) {
+            return new NoteResponse(note);
         }
 
-        Note savedNote = noteRepository.save(note);
+        Note savedNote = saveChanges(note, fieldsChanged, tagsChanged);
         return new NoteResponse(savedNote);
     }
 
+    /**
+     * Modifie partiellement une note (sauvegarde automatique des éditeurs).
+     * Seuls les champs renseignés sont appliqués ; si des versions sont attendues (If-Match)
+     * et qu'aucune ne correspond plus, la modification est refusée.
+     */
+    public NotePatchResponse patchNote(Long noteId, NotePatchRequest request, Set<Long> expectedVersions, String userEmail) {
+        User user = authenticatedUserResolver.findByEmail(userEmail)
+                .orElseThrow(() -> new RuntimeException("User not found"));
+
+        Note note = noteRepository.findByIdAndOwner(noteId, user)
+                .orElseThrow(() -> new RuntimeException("Note not found"));
+
+        if (expectedVersions != null && !expectedVersions.contains(note.getVersion())) {
+            throw new PreconditionFailedException("Note is at version " + note.getVersion() + ", If-Match expects " + expectedVersions,
+                    NoteETag.of(note.getVersion(), note.getSharingVersion()));
+        }
+
+        boolean fieldsChanged = false;
+        if (request.getTitle() != null && !request.getTitle().equals(note.getTitle())) {
+            note.setTitle(request.getTitle());
+            fieldsChanged = true;
+        }
+        String contentMd = request.getContentMd();
+        if (request.getContentEdits() != null) {
+            if (contentMd != null) {
+                throw new RuntimeException("Invalid request: contentMd and contentEdits are mutually exclusive");
+            }
+            // Sans baseVersion, la version validée par If-Match sert de base
+            Long baseVersion = request.getBaseVersion() != null ? request.getBaseVersion()
+                    : expectedVersions != null ? note.getVersion() : null;
+            if (baseVersion == null) {
+                throw new RuntimeException("Invalid request: contentEdits require a baseVersion");
+            }
+            // Les positions ne valent que pour le contenu de la version de base
+            if (!baseVersion.equals(note.getVersion())) {
+                throw new OptimisticLockingFailureException(
+                        "Note is at version " + note.getVersion() + ", edits are based on version " + baseVersion);
+            }
+            contentMd = applyContentEdits(note.getContentMd(), request.getContentEdits());
+        }
+        if (contentMd != null && !contentMd.equals(note.getContentMd())) {
+            note.setContentMd(contentMd);
+            fieldsChanged = true;
+        }
+        if (request.getVisibility() != null && note.getVisibility() != request.getVisibility()) {
+            note.setVisibility(request.getVisibility());
+            fieldsChanged = true;
+        }
+        boolean tagsChanged = request.getTags() != null && updateTags(note, user, request.getTags());
+
+        if (!fieldsChanged && !tagsChanged) {
+            return new NotePatchResponse(note);
+        }
+
+        saveChanges(note, fieldsChanged, tagsChanged);
+        return new NotePatchResponse(note);
+    }
+
+    /**
+     * Applique des remplacements de plages au contenu de base.
+     * Les plages sont exprimées sur le contenu de base, triées et sans chevauchement.
+     * La taille maximale est vérifiée avant chaque ajout : le contenu construit ne fait que grandir.
+     */
+    private static String applyContentEdits(String base, List<NotePatchRequest.ContentEdit> edits) {
+        String content = base != null ? base : "";
+        StringBuilder result = new StringBuilder(Math.min(content.length(), MAX_CONTENT_LENGTH));
+        int position = 0;
+        for (NotePatchRequest.ContentEdit edit : edits) {
+            int start = edit.getStart();
+            int end = edit.getEnd();
+            if (start < position || end < start || end > content.length()) {
+                throw new RuntimeException("Invalid content edit [" + start + ", " + end
+                        + "): ranges must be sorted, disjoint and within the base content");
+            }
+            int textLength = edit.getText() != null ? edit.getText().length() : 0;
+            checkContentLength((long) result.length() + (start - position) + textLength);
+            result.append(content, position, start);
+            if (edit.getText() != null) {
+                result.append(edit.getText());
+            }
+            position = end;
+        }
+        checkContentLength((long) result.length() + (content.length() - position));
+        result.append(content, position, content.length());
+        return result.toString();
+    }
+
+    private static void checkContentLength(long length) {
+        if (length > MAX_CONTENT_LENGTH) {
+            throw new RuntimeException("Invalid content: must not exceed 50,000 characters");
+        }
+    }
+
+    /**
+     * Applique une nouvelle liste de tags : seuls les tags retirés ou ajoutés sont écrits
+     */
+    private boolean updateTags(Note note, User user, Set<String> labels) {
+        Set<Long> previousTagIds = tagIds(note);
+        List<Tag> requestedTags = tagDictionary.getOrCreate(labels);
+        Set<Long> requestedTagIds = requestedTags.stream().map(Tag::getId).collect(Collectors.toSet());
+
+        boolean changed = note.getNoteTags().removeIf(noteTag -> !requestedTagIds.contains(noteTag.getTag().getId()));
+        for (Tag tag : requestedTags) {
+            if (!previousTagIds.contains(tag.getId())) {
+                note.getNoteTags().add(new NoteTag(note, tag));
+                changed = true;
+            }
+        }
+        countTagsAfterCommit(user.getId(), previousTagIds, requestedTagIds);
+        return changed;
+    }
+
+    /**
+     * Enregistre une note modifiée et planifie sa réindexation si le texte a changé.
+     * L'écriture est immédiate pour renvoyer la nouvelle version (et détecter un conflit concurrent).
+     */
+    private Note saveChanges(Note note, boolean fieldsChanged, boolean tagsChanged) {
+        // Un changement de tags seul ne rend pas la note modifiée pour Hibernate
+        if (tagsChanged && !fieldsChanged) {
+            note.setUpdatedAt(LocalDateTime.now());
+        }
+
+        Note savedNote = noteRepository.saveAndFlush(note);
+        noteAccessRepository.updateUpdatedAt(savedNote.getId(), savedNote.getUpdatedAt());
+        if (fieldsChanged) {
+            indexAfterCommit(savedNote);
+        }
+        // Un lien public reste servi quelle que soit la visibilité actuelle : invalidation systématique
+        Long noteId = savedNote.getId();
+        TransactionHooks.afterCommit(() -> publicNoteCache.invalidateNote(noteId));
+        return savedNote;
+    }
+
     /**
      * Supprime une note
      */
     public void deleteNote(Long noteId, String userEmail) {
-        User user = userRepository.findByEmail(userEmail)
+        User user = authenticatedUserResolver.findByEmail(userEmail)
                 .orElseThrow(() -> new RuntimeException("User not found"));
 
         if (!noteRepository.existsByIdAndOwner(noteId, user)) {
             throw new RuntimeException("Note not found");
         }
 
+        List<Long> tagIds = tagRepository.findTagIdsByNoteId(noteId);
+        noteAccessRepository.deleteByNoteId(noteId);
         noteRepository.deleteById(noteId);
+        countTagsAfterCommit(user.getId(), tagIds, List.of());
+        TransactionHooks.afterCommit(() -> {
+            searchIndex.remove(noteId);
+            publicNoteCache.invalidateNote(noteId);
+        });
     }
 
     /**
-     * Récupère une note publique par son token
+     * Met à jour l'index de recherche une fois la transaction validée
      */
-    @Transactional(readOnly = true)
-    public NoteResponse getPublicNote(String urlToken) {
-        // Cette méthode sera implémentée via le ShareService
-        throw new RuntimeException("Use ShareService.getPublicNote instead");
+    private void indexAfterCommit(Note note) {
+        Long noteId = note.getId();
+        Long ownerId = note.getOwner().getId();
+        Long version = note.getVersion();
+        String title = note.getTitle();
+        String contentMd = note.getContentMd();
+        TransactionHooks.afterCommit(() -> searchIndex.index(noteId, ownerId, version, title, contentMd));
     }
 
     /**
-     * Récupère ou crée un tag
+     * Met à jour les compteurs d'usage des tags une fois la transaction validée
      */
-    private Tag getOrCreateTag(String label) {
-        return tagRepository.findByLabelIgnoreCase(label)
-                .orElseGet(() -> {
-                    Tag newTag = new Tag(label);
-                    return tagRepository.save(newTag);
-                });
+    private void countTagsAfterCommit(Long ownerId, Collection<Long> previousTagIds, Collection<Long> currentTagIds) {
+        Set<Long> removed = new HashSet<>(previousTagIds);
+        removed.removeAll(currentTagIds);
+        Set<Long> added = new HashSet<>(currentTagIds);
+        added.removeAll(previousTagIds);
+        if (!removed.isEmpty() || !added.isEmpty()) {
+            tagUsageCounter.update(ownerId, removed, added);
+        }
+    }
+
+    private static Set<Long> tagIds(Note note) {
+        return note.getNoteTags().stream()
+                .map(noteTag -> noteTag.getTag().getId())
+                .collect(Collectors.toSet());
     }
 
     /**
@@ -175,18 +550,80 @@ public class NoteService {
      */
     @Transactional(readOnly = true)
     public Page<NoteResponse> getSharedNotes(String userEmail, int page, int size) {
-        User user = userRepository.findByEmail(userEmail)
+        User user = authenticatedUserResolver.findByEmail(userEmail)
                 .orElseThrow(() -> new RuntimeException("User not found"));
 
-        Pageable pageable = PageRequest.of(page, size, Sort.by(Sort.Direction.DESC, "updatedAt"));
-        List<Note> sharedNotes = noteRepository.findSharedWithUser(user);
-        
-        // Convertir en Page (simulation)
-        int start = (int) pageable.getOffset();
-        int end = Math.min((start + pageable.getPageSize()), sharedNotes.size());
-        List<Note> pageContent = sharedNotes.subList(start, end);
-        
-        Page<Note> notes = new PageImpl<>(pageContent, pageable, sharedNotes.size());
+        // Le tri est porté par la requête (ordre de l'index de la liste d'accès)
+        Pageable pageable = PageRequest.of(page, size);
+        Page<Note> notes = noteRepository.findSharedWithUser(user, pageable);
         return notes.map(NoteResponse::new);
     }
+
+    /**
+     * Récupère les notes partagées avec un utilisateur en pagination par curseur
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<NoteResponse> getSharedNotesByCursor(String userEmail, String cursor,
+                                                           int size, boolean includeTotal) {
+        User user = authenticatedUserResolver.findByEmail(userEmail)
+                .orElseThrow(() -> new RuntimeException("User not found"));
+
+        NoteCursor position = NoteCursor.decode(cursor);
+        Pageable limit = PageRequest.of(0, size + 1);
+        List<Note> rows = position == null
+                ? noteRepository.findSharedWithUserFirst(user, limit)
+                : noteRepository.findSharedWithUserAfter(user, position.updatedAt(), position.id(), limit);
+
+        Long total = includeTotal ? noteRepository.countSharedWithUser(user) : null;
+        return toCursorPage(rows, size, total, note -> new NoteCursor(note.getUpdatedAt(), note.getId()), NoteResponse::new);
+    }
+
+    /**
+     * Récupère les résumés des notes partagées avec un utilisateur
+     */
+    @Transactional(readOnly = true)
+    public Page<NoteSummary> getSharedNoteSummaries(String userEmail, int page, int size) {
+        User user = authenticatedUserResolver.findByEmail(userEmail)
+                .orElseThrow(() -> new RuntimeException("User not found"));
+
+        Page<NoteSummary> summaries = noteRepository.findSharedSummariesWithUser(user, PageRequest.of(page, size));
+        withTags(summaries.getContent());
+        return summaries;
+    }
+
+    /**
+     * Récupère les résumés des notes partagées avec un utilisateur en pagination par curseur
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<NoteSummary> getSharedNoteSummariesByCursor(String userEmail, String cursor,
+                                                                  int size, boolean includeTotal) {
+        User user = authenticatedUserResolver.findByEmail(userEmail)
+                .orElseThrow(() -> new RuntimeException("User not found"));
+
+        NoteCursor position = NoteCursor.decode(cursor);
+        Pageable limit = PageRequest.of(0, size + 1);
+        List<NoteSummary> rows = position == null
+                ? noteRepository.findSharedSummariesWithUserFirst(user, limit)
+                : noteRepository.findSharedSummariesWithUserAfter(user, position.updatedAt(), position.id(), limit);
+
+        Long total = includeTotal ? noteRepository.countSharedWithUser(user) : null;
+        CursorPage<NoteSummary> page = toCursorPage(rows, size, total,
+                summary -> new NoteCursor(summary.getUpdatedAt(), summary.getId()), Function.identity());
+        withTags(page.getContent());
+        return page;
+    }
+
+    /**
+     * Construit une page curseur à partir de size + 1 lignes (la ligne en trop signale une page suivante)
+     */
+    private <T, R> CursorPage<R> toCursorPage(List<T> rows, int size, Long total,
+                                              Function<T, NoteCursor> cursorOf, Function<T, R> mapper) {
+        boolean hasNext = rows.size() > size;
+        List<T> pageRows = hasNext ? rows.subList(0, size) : rows;
+
+        String nextCursor = hasNext ? cursorOf.apply(pageRows.get(pageRows.size() - 1)).encode() : null;
+
+        List<R> content = pageRows.stream().map(mapper).toList();
+        return new CursorPage<>(content, nextCursor, total);
+    }
 }
@@ -0,0 +1,244 @@
+package com.notes.backend.service;
+
+import com.notes.backend.dto.NoteVersion;
+import com.notes.backend.dto.PublicNoteVersion;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * Cache borné des notes publiques déjà sérialisées, indexé par token de lien (et format).
+ * Un succès évite toute requête et toute sérialisation ; les entrées expirent avec le lien
+ * et sont invalidées après validation de toute modification de la note ou de ses liens.
+ * Les entrées sont indexées par note : une invalidation ne touche que les clés de cette note.
+ */
+@Component
+public class PublicNoteCache {
+
+    // Nombre d'entrées examinées pour choisir la victime d'une éviction
+    private static final int EVICTION_SAMPLE_SIZE = 16;
+
+    private final ConcurrentHashMap<String, Entry> entries = new ConcurrentHashMap<>();
+    // id de note -> clés en cache de ses liens (invalidation sans parcourir le cache)
+    private final ConcurrentHashMap<Long, Set<String>> keysByNote = new ConcurrentHashMap<>();
+    // Chargements en cours par clé : une seule lecture en base par clé absente
+    private final ConcurrentHashMap<String, Load> loading = new ConcurrentHashMap<>();
+    private final boolean enabled;
+    private final long ttlMillis;
+    private final int maxSize;
+    private final Counter hits;
+    private final Counter misses;
+
+    public PublicNoteCache(@Value("${public-notes.cache.enabled:true}") boolean enabled,
+                           @Value("${public-notes.cache.ttl:60s}") Duration ttl,
+                           @Value("${public-notes.cache.max-size:10000}") int maxSize,
+                           MeterRegistry meterRegistry) {
+        this.enabled = enabled;
+        this.ttlMillis = ttl.toMillis();
+        this.maxSize = maxSize;
+        this.hits = Counter.builder("public.note.cache.requests")
+                .description("Notes publiques servies par le cache")
+                .tag("result", "hit")
+                .register(meterRegistry);
+        this.misses = Counter.builder("public.note.cache.requests")
+                .description("Notes publiques chargées en base")
+                .tag("result", "miss")
+                .register(meterRegistry);
+        Gauge.builder("public.note.cache.size", entries, Map::size)
+                .description("Nombre de notes publiques en cache")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Clé de cache d'un token : le rendu HTML est mis en cache séparément du markdown
+     */
+    public static String key(String urlToken, boolean html) {
+        return html ? urlToken + "#html" : urlToken;
+    }
+
+    /**
+     * Retourne la note publique sérialisée pour cette clé si elle est en cache et valide, ou null
+     */
+    public Entry get(String key) {
+        if (!enabled) {
+            return null;
+        }
+        Entry entry = entries.get(key);
+        if (entry != null) {
+            if (entry.expiresAt() > System.currentTimeMillis()) {
+                hits.increment();
+                return entry;
+            }
+            evict(key, entry);
+        }
+        misses.increment();
+        return null;
+    }
+
+    /**
+     * Charge une note publique absente du cache et la met en cache. Les requêtes concurrentes sur la même clé
+     * attendent le même chargement. Le chargeur signale l'id de la note dès qu'il le connaît (Load.noteId).
+     */
+    public Optional<Entry> load(String key, Function<Load, Optional<Entry>> loader) {
+        if (!enabled) {
+            return loader.apply(new Load());
+        }
+        Load load = new Load();
+        Load inFlight = loading.putIfAbsent(key, load);
+        if (inFlight != null) {
+            try {
+                return inFlight.result.join();
+            } catch (CompletionException e) {
+                // Même erreur que le chargement partagé
+                throw e.getCause() instanceof RuntimeException cause ? cause : e;
+            }
+        }
+        try {
+            Optional<Entry> entry = loader.apply(load);
+            entry.ifPresent(loaded -> put(key, load, loaded));
+            load.result.complete(entry);
+            return entry;
+        } catch (RuntimeException e) {
+            load.result.completeExceptionally(e);
+            throw e;
+        } finally {
+            loading.remove(key, load);
+        }
+    }
+
+    /**
+     * Met en cache une note publique chargée, sauf si elle a été invalidée pendant le chargement.
+     * L'entrée n'est conservée ni au-delà de son expiresAt (expiration du lien) ni au-delà du TTL.
+     * Cache plein : l'entrée qui expire le plus tôt d'un échantillon (la plus ancienne) lui cède la place.
+     */
+    private void put(String key, Load load, Entry entry) {
+        if (maxSize <= 0) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        while (entries.size() >= maxSize && !entries.containsKey(key)) {
+            evictOldest();
+        }
+        Entry bounded = entry.withExpiresAt(Math.min(entry.linkExpiresAt(), now + ttlMillis));
+        entries.put(key, bounded);
+        keysByNote.compute(entry.noteId(), (noteId, keys) -> {
+            Set<String> noteKeys = keys != null ? keys : ConcurrentHashMap.newKeySet();
+            noteKeys.add(key);
+            return noteKeys;
+        });
+        // Une invalidation de la note a eu lieu pendant le chargement : l'entrée est peut-être périmée
+        if (load.stale) {
+            evict(key, bounded);
+        }
+    }
+
+    /**
+     * Durée de mise en cache HTTP d'une entrée : TTL borné par l'expiration du lien
+     */
+    public Duration maxAge(Entry entry) {
+        return maxAge(entry.linkExpiresAt());
+    }
+
+    /**
+     * Même durée pour une réponse servie hors cache (304 sur la seule version)
+     */
+    public Duration maxAge(PublicNoteVersion version) {
+        LocalDateTime linkExpiresAt = version.linkExpiresAt();
+        return maxAge(linkExpiresAt != null
+                ? linkExpiresAt.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli()
+                : Long.MAX_VALUE);
+    }
+
+    private Duration maxAge(long linkExpiresAt) {
+        long remaining = linkExpiresAt - System.currentTimeMillis();
+        return Duration.ofMillis(Math.max(0, Math.min(ttlMillis, remaining)));
+    }
+
+    /**
+     * Invalide les entrées d'une note, ainsi que les chargements en cours qui peuvent la concerner
+     */
+    public void invalidateNote(Long noteId) {
+        for (Load load : loading.values()) {
+            Long loadingNoteId = load.noteId;
+            if (loadingNoteId == null || loadingNoteId.equals(noteId)) {
+                load.stale = true;
+            }
+        }
+        Set<String> keys = keysByNote.remove(noteId);
+        if (keys != null) {
+            keys.forEach(entries::remove);
+        }
+    }
+
+    /**
+     * Évince l'entrée qui expire le plus tôt parmi un échantillon du cache (coût borné)
+     */
+    private void evictOldest() {
+        Map.Entry<String, Entry> oldest = null;
+        int sampled = 0;
+        for (Map.Entry<String, Entry> candidate : entries.entrySet()) {
+            if (oldest == null || candidate.getValue().expiresAt() < oldest.getValue().expiresAt()) {
+                oldest = candidate;
+            }
+            if (++sampled >= EVICTION_SAMPLE_SIZE) {
+                break;
+            }
+        }
+        if (oldest != null) {
+            evict(oldest.getKey(), oldest.getValue());
+        }
+    }
+
+    private void evict(String key, Entry entry) {
+        if (entries.remove(key, entry)) {
+            keysByNote.computeIfPresent(entry.noteId(), (noteId, keys) -> {
+                keys.remove(key);
+                return keys.isEmpty() ? null : keys;
+            });
+        }
+    }
+
+    /**
+     * Chargement en cours d'une clé : note concernée (une fois connue) et résultat partagé
+     */
+    public static final class Load {
+
+        private final CompletableFuture<Optional<Entry>> result = new CompletableFuture<>();
+        private volatile Long noteId;
+        private volatile boolean stale;
+
+        /**
+         * Indique la note lue ; seules ses invalidations rendront le chargement périmé
+         */
+        public void noteId(Long noteId) {
+            this.noteId = noteId;
+        }
+    }
+
+    /**
+     * Note publique sérialisée et ses métadonnées HTTP
+     */
+    public record Entry(Long noteId, byte[] body, NoteVersion version, long linkExpiresAt, long expiresAt) {
+
+        public Entry(Long noteId, byte[] body, NoteVersion version, long linkExpiresAt) {
+            this(noteId, body, version, linkExpiresAt, linkExpiresAt);
+        }
+
+        Entry withExpiresAt(long expiresAt) {
+            return new Entry(noteId, body, version, linkExpiresAt, expiresAt);
+        }
+    }
+}
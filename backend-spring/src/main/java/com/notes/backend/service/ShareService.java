@@ -1,19 +1,29 @@
 package com.notes.backend.service;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.notes.backend.dto.PublicNoteResponse;
+import com.notes.backend.dto.NoteVersion;
+import com.notes.backend.dto.PublicNoteVersion;
 import com.notes.backend.model.Note;
+import com.notes.backend.model.NoteAccess;
 import com.notes.backend.model.PublicLink;
 import com.notes.backend.model.Share;
 import com.notes.backend.model.User;
+import com.notes.backend.repository.NoteAccessRepository;
 import com.notes.backend.repository.NoteRepository;
 import com.notes.backend.repository.PublicLinkRepository;
 import com.notes.backend.repository.ShareRepository;
-import com.notes.backend.repository.UserRepository;
+import com.notes.backend.search.NoteSearchIndex;
+import com.notes.backend.security.AuthenticatedUserResolver;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.security.SecureRandom;
 import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
 
@@ -34,7 +44,22 @@ public class ShareService {
     private NoteRepository noteRepository;
 
     @Autowired
-    private UserRepository userRepository;
+    private NoteAccessRepository noteAccessRepository;
+
+    @Autowired
+    private PublicNoteCache publicNoteCache;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private MarkdownRenderer markdownRenderer;
+
+    @Autowired
+    private AuthenticatedUserResolver authenticatedUserResolver;
+
+    @Autowired
+    private NoteSearchIndex searchIndex;
 
     private static final String CHARACTERS = "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789";
     private static final int TOKEN_LENGTH = 32;
@@ -45,14 +70,14 @@ public class ShareService {
      */
     public void shareNoteWithUser(Long noteId, String userEmail, String ownerEmail) {
         // Vérifier que la note appartient à l'utilisateur
-        User owner = userRepository.findByEmail(ownerEmail)
+        User owner = authenticatedUserResolver.findByEmail(ownerEmail)
                 .orElseThrow(() -> new RuntimeException("Owner not found"));
 
         Note note = noteRepository.findByIdAndOwner(noteId, owner)
                 .orElseThrow(() -> new RuntimeException("Note not found"));
 
         // Vérifier que l'utilisateur avec qui partager existe
-        User sharedWithUser = userRepository.findByEmail(userEmail)
+        User sharedWithUser = authenticatedUserResolver.findByEmail(userEmail)
                 .orElseThrow(() -> new RuntimeException("User not found"));
 
         // Vérifier que ce n'est pas le propriétaire lui-même
@@ -68,12 +93,11 @@ public class ShareService {
         // Créer le partage
         Share share = new Share(note, sharedWithUser, Share.Permission.READ);
         shareRepository.save(share);
-
+        noteAccessRepository.save(new NoteAccess(sharedWithUser, note, NoteAccess.Role.of(share.getPermission())));
+        Long sharedWithUserId = sharedWithUser.getId();
+        TransactionHooks.afterCommit(() -> searchIndex.grant(sharedWithUserId, noteId));
         // Mettre à jour la visibilité de la note
-        if (note.getVisibility() == Note.Visibility.PRIVATE) {
-            note.setVisibility(Note.Visibility.SHARED);
-            noteRepository.save(note);
-        }
+        updateSharing(note, note.getVisibility() == Note.Visibility.PRIVATE ? Note.Visibility.SHARED : note.getVisibility());
     }
 
     /**
@@ -81,7 +105,7 @@ public class ShareService {
      */
     public String createPublicLink(Long noteId, String ownerEmail) {
         // Vérifier que la note appartient à l'utilisateur
-        User owner = userRepository.findByEmail(ownerEmail)
+        User owner = authenticatedUserResolver.findByEmail(ownerEmail)
                 .orElseThrow(() -> new RuntimeException("Owner not found"));
 
         Note note = noteRepository.findByIdAndOwner(noteId, owner)
@@ -93,10 +117,8 @@ public class ShareService {
         // Créer le lien public
         PublicLink publicLink = new PublicLink(note, urlToken);
         publicLinkRepository.save(publicLink);
-
         // Mettre à jour la visibilité de la note
-        note.setVisibility(Note.Visibility.PUBLIC);
-        noteRepository.save(note);
+        updateSharing(note, Note.Visibility.PUBLIC);
 
         return urlToken;
     }
@@ -105,29 +127,30 @@ public class ShareService {
      * Supprime un partage
      */
     public void deleteShare(Long shareId, String ownerEmail) {
-        User owner = userRepository.findByEmail(ownerEmail)
+        User owner = authenticatedUserResolver.findByEmail(ownerEmail)
                 .orElseThrow(() -> new RuntimeException("Owner not found"));
 
         Share share = shareRepository.findByIdAndNoteOwner(shareId, owner)
                 .orElseThrow(() -> new RuntimeException("Share not found"));
 
         shareRepository.delete(share);
-
-        // Vérifier si la note a encore des partages
-        List<Share> remainingShares = shareRepository.findByNote(share.getNote());
-        if (remainingShares.isEmpty()) {
-            // Si plus de partages, remettre la visibilité à PRIVATE
-            Note note = share.getNote();
-            note.setVisibility(Note.Visibility.PRIVATE);
-            noteRepository.save(note);
-        }
+        Long noteId = share.getNote().getId();
+        Long sharedWithUserId = share.getSharedWithUser().getId();
+        noteAccessRepository.deleteByNoteIdAndUserId(noteId, sharedWithUserId);
+        TransactionHooks.afterCommit(() -> searchIndex.revoke(sharedWithUserId, noteId));
+        // Si plus de partages (et pas de lien public), remettre la visibilité à PRIVATE
+        Note note = share.getNote();
+        List<Share> remainingShares = shareRepository.findByNote(note);
+        updateSharing(note, remainingShares.isEmpty() && note.getVisibility() == Note.Visibility.SHARED
+                ? Note.Visibility.PRIVATE
+                : note.getVisibility());
     }
 
     /**
      * Supprime un lien public
      */
     public void deletePublicLink(Long linkId, String ownerEmail) {
-        User owner = userRepository.findByEmail(ownerEmail)
+        User owner = authenticatedUserResolver.findByEmail(ownerEmail)
                 .orElseThrow(() -> new RuntimeException("Owner not found"));
 
         PublicLink publicLink = publicLinkRepository.findByIdAndNoteOwner(linkId, owner)
@@ -135,24 +158,68 @@ public class ShareService {
 
         publicLinkRepository.delete(publicLink);
 
-        // Vérifier si la note a encore des liens publics
-        List<PublicLink> remainingLinks = publicLinkRepository.findByNote(publicLink.getNote());
-        if (remainingLinks.isEmpty()) {
-            // Si plus de liens publics, remettre la visibilité à SHARED ou PRIVATE
-            Note note = publicLink.getNote();
-            List<Share> shares = shareRepository.findByNote(note);
-            note.setVisibility(shares.isEmpty() ? Note.Visibility.PRIVATE : Note.Visibility.SHARED);
-            noteRepository.save(note);
+        // Si plus de liens publics, remettre la visibilité à SHARED ou PRIVATE
+        Note note = publicLink.getNote();
+        Note.Visibility visibility = note.getVisibility();
+        if (publicLinkRepository.findByNote(note).isEmpty()) {
+            visibility = shareRepository.findByNote(note).isEmpty() ? Note.Visibility.PRIVATE : Note.Visibility.SHARED;
         }
+        updateSharing(note, visibility);
     }
 
     /**
-     * Récupère une note publique par son token
+     * Charge et sérialise la note d'un lien public valide (contenu markdown ou HTML rendu), pour le cache
      */
     @Transactional(readOnly = true)
-    public Optional<Note> getPublicNote(String urlToken) {
-        return publicLinkRepository.findByUrlTokenAndNotExpired(urlToken, LocalDateTime.now())
-                .map(PublicLink::getNote);
+    public Optional<PublicNoteCache.Entry> loadPublicNote(String urlToken, boolean html, PublicNoteCache.Load load) {
+        List<Object[]> rows = publicLinkRepository.findPublicNoteRow(urlToken, LocalDateTime.now());
+        if (rows.isEmpty()) {
+            return Optional.empty();
+        }
+
+        Object[] row = rows.get(0);
+        Long noteId = (Long) row[0];
+        load.noteId(noteId);
+        LocalDateTime updatedAt = (LocalDateTime) row[4];
+        Long version = (Long) row[5];
+        LocalDateTime expiresAt = (LocalDateTime) row[7];
+        NoteVersion noteVersion = new NoteVersion(version, (Long) row[8], updatedAt, (LocalDateTime) row[9]);
+        PublicNoteResponse response = new PublicNoteResponse((String) row[1], (String) row[2], (String) row[6],
+                (LocalDateTime) row[3], updatedAt);
+        response.setTags(row[10] != null ? Arrays.asList((String[]) row[10]) : List.of());
+        if (html) {
+            response.setContentHtml(markdownRenderer.render(noteId, version, response.getContentMd()));
+            response.setContentMd(null);
+        }
+
+        byte[] body;
+        try {
+            body = objectMapper.writeValueAsBytes(response);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Public note serialization failed", e);
+        }
+        PublicNoteCache.Entry entry = new PublicNoteCache.Entry(noteId, body, noteVersion,
+                expiresAt != null ? expiresAt.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli() : Long.MAX_VALUE);
+        return Optional.of(entry);
+    }
+
+    /**
+     * Version de la note d'un lien public valide et expiration du lien, pour les requêtes conditionnelles
+     */
+    @Transactional(readOnly = true)
+    public Optional<PublicNoteVersion> getPublicNoteVersion(String urlToken) {
+        return publicLinkRepository.findNoteVersionByUrlTokenAndNotExpired(urlToken, LocalDateTime.now());
+    }
+
+    /**
+     * Enregistre un changement de partage ou de lien public : visibilité, compteur et date des partages.
+     * La version du contenu n'est pas touchée (pas de 412/409 pour une sauvegarde concurrente du propriétaire) ;
+     * l'ETag change quand même via le compteur de partages.
+     */
+    private void updateSharing(Note note, Note.Visibility visibility) {
+        Long noteId = note.getId();
+        noteRepository.updateSharing(noteId, visibility, LocalDateTime.now());
+        TransactionHooks.afterCommit(() -> publicNoteCache.invalidateNote(noteId));
     }
 
     /**
@@ -0,0 +1,274 @@
+package com.notes.backend.service;
+
+import com.notes.backend.exception.ServiceBusyException;
+import com.notes.backend.model.Tag;
+import com.notes.backend.repository.TagRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.persister.entity.EntityPersister;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.dao.TransientDataAccessException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Savepoint;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * Dictionnaire en mémoire des tags (label normalisé -> id), partagé par tout le processus.
+ * Les tags d'une note sont résolus en un seul passage : une requête pour les labels inconnus,
+ * puis la création de ceux qui manquent dans la transaction de l'appelant (une insertion groupée).
+ * Le dictionnaire n'apprend un tag créé qu'après le commit.
+ * Les labels sont triés pour servir l'autocomplétion par préfixe.
+ */
+@Service
+public class TagDictionary {
+
+    private static final Logger log = LoggerFactory.getLogger(TagDictionary.class);
+
+    private static final int MIN_LABEL_LENGTH = 2;
+    private static final int MAX_LABEL_LENGTH = 50;
+    // Taille de tags.label_normalized : le repli peut allonger un label (œ -> oe, ß -> ss)
+    private static final int MAX_NORMALIZED_LENGTH = 100;
+    private static final long CREATE_RETRY_AFTER_SECONDS = 1;
+    // Insertions groupées tentées avant de renvoyer 503 quand d'autres créateurs valident les mêmes tags
+    private static final int MAX_CREATE_ATTEMPTS = 3;
+
+    // SQL standard : l'id vient du générateur pooled de Hibernate, l'unicité de l'index sur label_normalized
+    private static final String INSERT_TAG = "INSERT INTO tags (id, label, label_normalized, created_at) " +
+            "VALUES (?, ?, ?, ?)";
+
+    private final TagRepository tagRepository;
+    private final JdbcTemplate jdbcTemplate;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    // label normalisé -> tag
+    private final ConcurrentSkipListMap<String, Entry> tagsByLabel = new ConcurrentSkipListMap<>();
+
+    // id -> tag (libellé des compteurs d'usage)
+    private final ConcurrentHashMap<Long, Entry> tagsById = new ConcurrentHashMap<>();
+
+    public TagDictionary(TagRepository tagRepository,
+                         JdbcTemplate jdbcTemplate,
+                         MeterRegistry meterRegistry) {
+        this.tagRepository = tagRepository;
+        this.jdbcTemplate = jdbcTemplate;
+
+        Gauge.builder("tags.dictionary.size", tagsByLabel, Map::size)
+                .description("Nombre de tags connus du dictionnaire")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Charge tous les tags existants au démarrage de l'application
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        long start = System.currentTimeMillis();
+        for (Object[] row : tagRepository.findAllIdsAndLabels()) {
+            put(row);
+        }
+        log.info("Tag dictionary loaded: {} tags in {} ms", tagsByLabel.size(), System.currentTimeMillis() - start);
+    }
+
+    /**
+     * Tags dont le label normalisé commence par le préfixe, par ordre alphabétique
+     */
+    public List<Entry> findByPrefix(String prefix, int limit) {
+        String key = Tag.normalizeLabel(prefix);
+        List<Entry> matches = new ArrayList<>(limit);
+        for (Map.Entry<String, Entry> entry : tagsByLabel.tailMap(key, true).entrySet()) {
+            if (matches.size() >= limit || !entry.getKey().startsWith(key)) {
+                break;
+            }
+            matches.add(entry.getValue());
+        }
+        return matches;
+    }
+
+    /**
+     * Tag connu du dictionnaire pour cet id
+     */
+    public Optional<Entry> findById(Long id) {
+        return Optional.ofNullable(tagsById.get(id));
+    }
+
+    /**
+     * Résout un ensemble de labels en tags, en créant ceux qui n'existent pas encore.
+     * Les doublons à la casse près sont fusionnés ; l'ordre des labels est conservé.
+     * Les tags renvoyés sont des références de la transaction courante, qui doit être active.
+     */
+    public List<Tag> getOrCreate(Collection<String> labels) {
+        Map<String, String> requested = new LinkedHashMap<>();
+        for (String label : labels) {
+            if (label != null && !label.isBlank()) {
+                String trimmed = label.trim();
+                String key = Tag.normalizeLabel(trimmed);
+                validate(trimmed, key);
+                requested.putIfAbsent(key, trimmed);
+            }
+        }
+
+        Map<String, Long> ids = new HashMap<>();
+        Map<String, String> missing = new LinkedHashMap<>();
+        requested.forEach((key, label) -> {
+            Entry entry = tagsByLabel.get(key);
+            if (entry != null) {
+                ids.put(key, entry.id());
+            } else {
+                missing.put(key, label);
+            }
+        });
+        if (!missing.isEmpty()) {
+            loadExisting(missing, ids);
+        }
+        if (!missing.isEmpty()) {
+            create(missing, ids);
+        }
+
+        List<Tag> tags = new ArrayList<>(requested.size());
+        for (String key : requested.keySet()) {
+            tags.add(tagRepository.getReferenceById(ids.get(key)));
+        }
+        return tags;
+    }
+
+    /**
+     * Même règle de longueur que l'entité Tag, puis longueur une fois replié (colonne label_normalized)
+     */
+    private static void validate(String label, String key) {
+        if (label.length() < MIN_LABEL_LENGTH || label.length() > MAX_LABEL_LENGTH) {
+            throw new RuntimeException("Invalid tag label: must be between 2 and 50 characters");
+        }
+        if (key.length() > MAX_NORMALIZED_LENGTH) {
+            throw new RuntimeException("Invalid tag label: too long once normalized");
+        }
+    }
+
+    /**
+     * Complète le dictionnaire avec les tags déjà en base (créés par une autre instance ou une autre requête)
+     */
+    private void loadExisting(Map<String, String> missing, Map<String, Long> ids) {
+        for (Object[] row : tagRepository.findIdsAndLabelsByNormalizedLabelIn(missing.keySet())) {
+            String key = (String) row[1];
+            Entry entry = new Entry((Long) row[0], (String) row[2]);
+            ids.put(key, entry.id());
+            missing.remove(key);
+            // Une ligne insérée par la transaction courante n'est publiée qu'après son commit
+            TransactionHooks.afterCommit(() -> publish(key, entry));
+        }
+    }
+
+    /**
+     * Crée les tags manquants dans la transaction de l'appelant, sans seconde connexion :
+     * une seule insertion groupée sous un point de sauvegarde, les ids étant connus d'avance.
+     * Les lignes sont insérées dans l'ordre de leur clé : deux créateurs concurrents ne peuvent pas s'attendre
+     * mutuellement. Si un autre créateur a validé l'un des tags, tout le lot est annulé jusqu'au point
+     * de sauvegarde, les tags validés sont relus et seuls les autres sont réinsérés.
+     */
+    private void create(Map<String, String> missing, Map<String, Long> ids) {
+        for (int attempt = 1; !missing.isEmpty(); attempt++) {
+            Map<String, Long> created = new TreeMap<>();
+            for (String key : missing.keySet()) {
+                created.put(key, nextTagId());
+            }
+            try {
+                insertBatch(created, missing);
+            } catch (DuplicateKeyException e) {
+                if (attempt == MAX_CREATE_ATTEMPTS) {
+                    throw new ServiceBusyException("Tag is being created by another request, retry later",
+                            CREATE_RETRY_AFTER_SECONDS);
+                }
+                log.debug("Concurrent creation of tags {}, reading the committed rows", missing.values());
+                loadExisting(missing, ids);
+                continue;
+            } catch (TransientDataAccessException e) {
+                throw new ServiceBusyException("Tag is being created by another request, retry later",
+                        CREATE_RETRY_AFTER_SECONDS);
+            }
+
+            created.forEach((key, id) -> {
+                Entry entry = new Entry(id, missing.get(key));
+                ids.put(key, id);
+                // Publié seulement si la transaction de la note est validée
+                TransactionHooks.afterCommit(() -> publish(key, entry));
+            });
+            missing.clear();
+        }
+    }
+
+    /**
+     * Insère le lot en un seul aller-retour, sous un point de sauvegarde JDBC sur la connexion
+     * de la transaction JPA : une clé dupliquée n'annule que ce lot
+     */
+    private void insertBatch(Map<String, Long> created, Map<String, String> labels) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.execute((ConnectionCallback<Void>) connection -> {
+            Savepoint savepoint = connection.setSavepoint();
+            try (PreparedStatement statement = connection.prepareStatement(INSERT_TAG)) {
+                for (Map.Entry<String, Long> row : created.entrySet()) {
+                    statement.setLong(1, row.getValue());
+                    statement.setString(2, labels.get(row.getKey()));
+                    statement.setString(3, row.getKey());
+                    statement.setTimestamp(4, now);
+                    statement.addBatch();
+                }
+                statement.executeBatch();
+            } catch (SQLException e) {
+                connection.rollback(savepoint);
+                throw e;
+            }
+            connection.releaseSavepoint(savepoint);
+            return null;
+        });
+    }
+
+    /**
+     * Prochain id de tag, tiré du générateur pooled de l'entité Tag (mêmes blocs d'ids que les insertions JPA)
+     */
+    private Long nextTagId() {
+        SharedSessionContractImplementor session = entityManager.unwrap(SharedSessionContractImplementor.class);
+        EntityPersister persister = session.getFactory().getMappingMetamodel().getEntityDescriptor(Tag.class);
+        return (Long) persister.getIdentifierGenerator().generate(session, null);
+    }
+
+    /**
+     * Enregistre une ligne (id, label normalisé, label)
+     */
+    private void put(Object[] row) {
+        publish((String) row[1], new Entry((Long) row[0], (String) row[2]));
+    }
+
+    private void publish(String key, Entry entry) {
+        tagsByLabel.put(key, entry);
+        tagsById.put(entry.id(), entry);
+    }
+
+    /**
+     * Tag connu du dictionnaire
+     */
+    public record Entry(Long id, String label) {}
+}
@@ -0,0 +1,75 @@
+package com.notes.backend.service;
+
+import com.notes.backend.dto.NoteResponse;
+import com.notes.backend.dto.TagUsageResponse;
+import com.notes.backend.model.User;
+import com.notes.backend.security.AuthenticatedUserResolver;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Service pour la consultation des tags
+ */
+@Service
+public class TagService {
+
+    public static final int MAX_AUTOCOMPLETE_LIMIT = 50;
+    public static final int MAX_TOP_LIMIT = 100;
+
+    @Autowired
+    private TagDictionary tagDictionary;
+
+    @Autowired
+    private TagUsageCounter tagUsageCounter;
+
+    @Autowired
+    private AuthenticatedUserResolver authenticatedUserResolver;
+
+    /**
+     * Suggestions de tags pour un préfixe (insensible à la casse et aux accents),
+     * servies depuis le dictionnaire en mémoire
+     */
+    public List<NoteResponse.TagResponse> autocomplete(String prefix, int limit) {
+        if (prefix == null || prefix.isBlank()) {
+            return List.of();
+        }
+        if (limit < 1 || limit > MAX_AUTOCOMPLETE_LIMIT) {
+            throw new RuntimeException("Invalid limit: must be between 1 and " + MAX_AUTOCOMPLETE_LIMIT);
+        }
+        return tagDictionary.findByPrefix(prefix, limit).stream()
+                .map(entry -> new NoteResponse.TagResponse(entry.id(), entry.label()))
+                .toList();
+    }
+
+    /**
+     * Tags les plus utilisés, lus dans les compteurs d'usage (sans agrégation en base).
+     * Portée "user" : notes de l'utilisateur ; "all" : toutes les notes.
+     */
+    public List<TagUsageResponse> getTopTags(String userEmail, String scope, int limit) {
+        if (limit < 1 || limit > MAX_TOP_LIMIT) {
+            throw new RuntimeException("Invalid limit: must be between 1 and " + MAX_TOP_LIMIT);
+        }
+
+        List<Map.Entry<Long, Long>> counts;
+        if ("user".equals(scope)) {
+            User user = authenticatedUserResolver.findByEmail(userEmail)
+                    .orElseThrow(() -> new RuntimeException("User not found"));
+            counts = tagUsageCounter.topForUser(user.getId(), limit);
+        } else if ("all".equals(scope)) {
+            counts = tagUsageCounter.topGlobal(limit);
+        } else {
+            throw new RuntimeException("Invalid scope: expected user or all");
+        }
+
+        List<TagUsageResponse> tags = new ArrayList<>(counts.size());
+        for (Map.Entry<Long, Long> count : counts) {
+            tagDictionary.findById(count.getKey()).ifPresent(entry ->
+                    tags.add(new TagUsageResponse(entry.id(), entry.label(), count.getValue())));
+        }
+        return tags;
+    }
+}
@@ -0,0 +1,129 @@
+package com.notes.backend.service;
+
+import com.notes.backend.repository.TagRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Compteurs d'usage des tags (nombre de notes portant chaque tag), par utilisateur et global.
+ * Calculés une fois au démarrage puis tenus à jour à chaque écriture de note validée.
+ */
+@Service
+public class TagUsageCounter {
+
+    private static final Logger log = LoggerFactory.getLogger(TagUsageCounter.class);
+
+    private static final Comparator<Map.Entry<Long, Long>> BY_USAGE =
+            Map.Entry.<Long, Long>comparingByValue().thenComparing(Map.Entry.comparingByKey(Comparator.reverseOrder()));
+
+    @Autowired
+    private TagRepository tagRepository;
+
+    // Compteurs servis ; remplacés d'un bloc à la fin d'une reconstruction
+    private volatile Counts current = new Counts();
+
+    // Tenu en lecture du commit d'une écriture jusqu'à sa mise à jour des compteurs, en écriture pendant une
+    // reconstruction : le comptage en base voit alors exactement les écritures déjà appliquées
+    private final ReadWriteLock commitLock = new ReentrantReadWriteLock();
+
+    /**
+     * Reconstruit les compteurs au démarrage de l'application, à côté des compteurs servis.
+     * La connexion est prise avant le verrou : les écritures en attente de commit en tiennent une.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void rebuild() {
+        long start = System.currentTimeMillis();
+        Counts rebuilt = new Counts();
+        commitLock.writeLock().lock();
+        try {
+            for (Object[] row : tagRepository.countNotesByOwnerAndTag()) {
+                rebuilt.add((Long) row[0], (Long) row[1], (Long) row[2]);
+            }
+            current = rebuilt;
+        } finally {
+            commitLock.writeLock().unlock();
+        }
+        log.debug("Tag usage counters built: {} users, {} tags in {} ms",
+                rebuilt.byUser.size(), rebuilt.global.size(), System.currentTimeMillis() - start);
+    }
+
+    /**
+     * Applique le changement de tags d'une note de ce propriétaire une fois la transaction courante validée
+     */
+    public void update(Long ownerId, Collection<Long> removedTagIds, Collection<Long> addedTagIds) {
+        TransactionHooks.afterCommitHolding(commitLock.readLock(), () -> {
+            Counts counts = current;
+            removedTagIds.forEach(tagId -> counts.add(ownerId, tagId, -1));
+            addedTagIds.forEach(tagId -> counts.add(ownerId, tagId, 1));
+        });
+    }
+
+    /**
+     * Tags les plus utilisés par un utilisateur, sous forme (id de tag -> nombre de notes)
+     */
+    public List<Map.Entry<Long, Long>> topForUser(Long userId, int limit) {
+        return top(current.byUser.getOrDefault(userId, new ConcurrentHashMap<>()), limit);
+    }
+
+    /**
+     * Tags les plus utilisés tous utilisateurs confondus
+     */
+    public List<Map.Entry<Long, Long>> topGlobal(int limit) {
+        return top(current.global, limit);
+    }
+
+    /**
+     * Sélectionne les k plus grands compteurs avec un tas borné (sans trier tous les tags)
+     */
+    private static List<Map.Entry<Long, Long>> top(Map<Long, Long> counts, int limit) {
+        PriorityQueue<Map.Entry<Long, Long>> heap = new PriorityQueue<>(limit + 1, BY_USAGE);
+        for (Map.Entry<Long, Long> entry : counts.entrySet()) {
+            heap.offer(Map.entry(entry.getKey(), entry.getValue()));
+            if (heap.size() > limit) {
+                heap.poll();
+            }
+        }
+        List<Map.Entry<Long, Long>> result = new ArrayList<>(heap);
+        result.sort(BY_USAGE.reversed());
+        return result;
+    }
+
+    /**
+     * Compteurs par utilisateur et global, construits ensemble et remplacés ensemble
+     */
+    private static final class Counts {
+
+        // id de propriétaire -> (id de tag -> nombre de notes)
+        private final ConcurrentHashMap<Long, ConcurrentHashMap<Long, Long>> byUser = new ConcurrentHashMap<>();
+
+        // id de tag -> nombre de notes, tous utilisateurs confondus
+        private final ConcurrentHashMap<Long, Long> global = new ConcurrentHashMap<>();
+
+        private void add(Long ownerId, Long tagId, long delta) {
+            byUser.computeIfAbsent(ownerId, id -> new ConcurrentHashMap<>())
+                    .compute(tagId, (id, count) -> positiveOrNull(count, delta));
+            global.compute(tagId, (id, count) -> positiveOrNull(count, delta));
+        }
+
+        private static Long positiveOrNull(Long count, long delta) {
+            long updated = (count != null ? count : 0L) + delta;
+            return updated > 0 ? updated : null;
+        }
+    }
+}
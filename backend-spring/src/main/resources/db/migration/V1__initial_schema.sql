@@ -0,0 +1,63 @@
+-- Schéma initial (tel que généré jusqu'ici par ddl-auto à partir des entités)
+
+CREATE TABLE users (
+    id            BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    email         VARCHAR(255) NOT NULL,
+    password_hash VARCHAR(255) NOT NULL,
+    name          VARCHAR(50)  NOT NULL,
+    created_at    TIMESTAMP(6) NOT NULL,
+    updated_at    TIMESTAMP(6),
+    CONSTRAINT uk_users_email UNIQUE (email)
+);
+
+CREATE TABLE notes (
+    id          BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    owner_id    BIGINT       NOT NULL,
+    title       VARCHAR(255) NOT NULL,
+    content_md  TEXT,
+    visibility  VARCHAR(255) NOT NULL,
+    created_at  TIMESTAMP(6) NOT NULL,
+    updated_at  TIMESTAMP(6),
+    version     BIGINT       NOT NULL DEFAULT 0,
+    CONSTRAINT fk_notes_owner FOREIGN KEY (owner_id) REFERENCES users (id),
+    CONSTRAINT ck_notes_visibility CHECK (visibility IN ('PRIVATE', 'SHARED', 'PUBLIC'))
+);
+
+CREATE TABLE tags (
+    id               BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    label            VARCHAR(50)  NOT NULL,
+    label_normalized VARCHAR(50)  NOT NULL,
+    created_at       TIMESTAMP(6) NOT NULL,
+    CONSTRAINT uk_tags_label UNIQUE (label),
+    CONSTRAINT uk_tags_label_normalized UNIQUE (label_normalized)
+);
+
+CREATE TABLE note_tags (
+    id         BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    note_id    BIGINT       NOT NULL,
+    tag_id     BIGINT       NOT NULL,
+    created_at TIMESTAMP(6) NOT NULL,
+    CONSTRAINT fk_note_tags_note FOREIGN KEY (note_id) REFERENCES notes (id),
+    CONSTRAINT fk_note_tags_tag FOREIGN KEY (tag_id) REFERENCES tags (id)
+);
+
+CREATE TABLE shares (
+    id                  BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    note_id             BIGINT       NOT NULL,
+    shared_with_user_id BIGINT       NOT NULL,
+    permission          VARCHAR(255) NOT NULL,
+    created_at          TIMESTAMP(6) NOT NULL,
+    CONSTRAINT fk_shares_note FOREIGN KEY (note_id) REFERENCES notes (id),
+    CONSTRAINT fk_shares_user FOREIGN KEY (shared_with_user_id) REFERENCES users (id),
+    CONSTRAINT ck_shares_permission CHECK (permission IN ('READ'))
+);
+
+CREATE TABLE public_links (
+    id         BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    note_id    BIGINT       NOT NULL,
+    url_token  VARCHAR(255) NOT NULL,
+    expires_at TIMESTAMP(6),
+    created_at TIMESTAMP(6) NOT NULL,
+    CONSTRAINT uk_public_links_url_token UNIQUE (url_token),
+    CONSTRAINT fk_public_links_note FOREIGN KEY (note_id) REFERENCES notes (id)
+);
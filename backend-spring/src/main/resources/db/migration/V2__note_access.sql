@@ -0,0 +1,27 @@
+-- Liste d'accès matérialisée : une ligne par note visible d'un utilisateur (propriétaire ou partage)
+
+CREATE TABLE note_access (
+    user_id    BIGINT       NOT NULL,
+    note_id    BIGINT       NOT NULL,
+    role       VARCHAR(16)  NOT NULL,
+    updated_at TIMESTAMP(6) NOT NULL,
+    CONSTRAINT pk_note_access PRIMARY KEY (user_id, note_id),
+    CONSTRAINT fk_note_access_user FOREIGN KEY (user_id) REFERENCES users (id),
+    CONSTRAINT fk_note_access_note FOREIGN KEY (note_id) REFERENCES notes (id),
+    CONSTRAINT ck_note_access_role CHECK (role IN ('OWNER', 'READ'))
+);
+
+-- Listes triées par date de modification : parcours d'index sans tri
+CREATE INDEX idx_note_access_user_updated ON note_access (user_id, updated_at, note_id);
+CREATE INDEX idx_note_access_note ON note_access (note_id);
+
+-- Reprise des accès existants
+INSERT INTO note_access (user_id, note_id, role, updated_at)
+SELECT n.owner_id, n.id, 'OWNER', COALESCE(n.updated_at, n.created_at)
+FROM notes n;
+
+INSERT INTO note_access (user_id, note_id, role, updated_at)
+SELECT s.shared_with_user_id, s.note_id, s.permission, COALESCE(n.updated_at, n.created_at)
+FROM shares s
+JOIN notes n ON n.id = s.note_id
+WHERE s.shared_with_user_id <> n.owner_id;
@@ -0,0 +1,16 @@
+-- Index composites alignés sur les requêtes de NoteRepository, ShareRepository et PublicLinkRepository
+
+-- Notes d'un propriétaire triées par date de modification
+CREATE INDEX idx_notes_owner_updated ON notes (owner_id, updated_at);
+
+-- Notes partagées avec un utilisateur ; partages d'une note
+CREATE INDEX idx_shares_user_note ON shares (shared_with_user_id, note_id);
+CREATE INDEX idx_shares_note ON shares (note_id);
+
+-- Filtre par tag et compteurs d'usage ; tags d'une note
+CREATE INDEX idx_note_tags_tag_note ON note_tags (tag_id, note_id);
+CREATE INDEX idx_note_tags_note ON note_tags (note_id);
+
+-- Purge des liens expirés ; liens d'une note
+CREATE INDEX idx_public_links_expires ON public_links (expires_at);
+CREATE INDEX idx_public_links_note ON public_links (note_id);
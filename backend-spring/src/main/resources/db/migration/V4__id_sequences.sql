@@ -0,0 +1,28 @@
+-- Identifiants attribués par des séquences par blocs de 50 (optimiseur pooled d'Hibernate) au lieu de colonnes IDENTITY :
+-- les ids sont connus avant l'INSERT, ce qui permet de regrouper les écritures en batchs JDBC.
+-- Chaque valeur de séquence est la borne haute d'un bloc : elle repart à MAX(id) + 50 pour ne pas réutiliser d'id existant.
+-- INCREMENT BY doit rester égal à allocationSize dans les entités.
+
+CREATE SEQUENCE users_seq START WITH 50 INCREMENT BY 50;
+ALTER SEQUENCE users_seq RESTART WITH (SELECT COALESCE(MAX(id), 0) + 50 FROM users);
+ALTER TABLE users ALTER COLUMN id DROP IDENTITY;
+
+CREATE SEQUENCE notes_seq START WITH 50 INCREMENT BY 50;
+ALTER SEQUENCE notes_seq RESTART WITH (SELECT COALESCE(MAX(id), 0) + 50 FROM notes);
+ALTER TABLE notes ALTER COLUMN id DROP IDENTITY;
+
+CREATE SEQUENCE tags_seq START WITH 50 INCREMENT BY 50;
+ALTER SEQUENCE tags_seq RESTART WITH (SELECT COALESCE(MAX(id), 0) + 50 FROM tags);
+ALTER TABLE tags ALTER COLUMN id DROP IDENTITY;
+
+CREATE SEQUENCE note_tags_seq START WITH 50 INCREMENT BY 50;
+ALTER SEQUENCE note_tags_seq RESTART WITH (SELECT COALESCE(MAX(id), 0) + 50 FROM note_tags);
+ALTER TABLE note_tags ALTER COLUMN id DROP IDENTITY;
+
+CREATE SEQUENCE shares_seq START WITH 50 INCREMENT BY 50;
+ALTER SEQUENCE shares_seq RESTART WITH (SELECT COALESCE(MAX(id), 0) + 50 FROM shares);
+ALTER TABLE shares ALTER COLUMN id DROP IDENTITY;
+
+CREATE SEQUENCE public_links_seq START WITH 50 INCREMENT BY 50;
+ALTER SEQUENCE public_links_seq RESTART WITH (SELECT COALESCE(MAX(id), 0) + 50 FROM public_links);
+ALTER TABLE public_links ALTER COLUMN id DROP IDENTITY;
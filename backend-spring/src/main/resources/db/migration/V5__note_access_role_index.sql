@@ -0,0 +1,3 @@
+-- Notes partagées avec un utilisateur, triées par date de modification : parcours de l'index
+-- (user_id, role, updated_at, note_id) limité aux lignes READ, sans passer par les notes possédées
+CREATE INDEX idx_note_access_user_role_updated ON note_access (user_id, role, updated_at, note_id);
@@ -0,0 +1,4 @@
+-- Partages, liens publics et visibilité suivis à part : la version du contenu (If-Match, baseVersion)
+-- ne change plus quand une note est partagée ; l'ETag combine les deux compteurs
+ALTER TABLE notes ADD COLUMN sharing_version BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE notes ADD COLUMN sharing_updated_at TIMESTAMP(6);
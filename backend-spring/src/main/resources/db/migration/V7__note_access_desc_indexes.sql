@@ -0,0 +1,6 @@
+-- Les listes sont lues par date de modification décroissante (pagination par curseur) :
+-- colonnes de tri déclarées DESC pour que l'index fournisse l'ordre, sans tri de toutes les lignes de l'utilisateur
+DROP INDEX idx_note_access_user_updated;
+CREATE INDEX idx_note_access_user_updated ON note_access (user_id, updated_at DESC, note_id DESC);
+DROP INDEX idx_note_access_user_role_updated;
+CREATE INDEX idx_note_access_user_role_updated ON note_access (user_id, role, updated_at DESC, note_id DESC);
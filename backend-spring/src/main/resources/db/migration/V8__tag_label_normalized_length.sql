@@ -0,0 +1,3 @@
+-- Le repli d'un label peut l'allonger (œ -> oe, æ -> ae, ß -> ss) : un label de 50 caractères
+-- peut dépasser 50 caractères une fois normalisé. Au plus le double.
+ALTER TABLE tags ALTER COLUMN label_normalized SET DATA TYPE VARCHAR(100);
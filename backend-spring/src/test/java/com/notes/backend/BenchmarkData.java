@@ -0,0 +1,46 @@
+package com.notes.backend;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Jeu de données des benchmarks, généré en SQL sur un schéma migré par Flyway :
+ * 1 utilisateur pour 100 notes, 1 partage pour 10 notes, liste d'accès remplie comme par la migration V2.
+ * La note d'id X appartient à l'utilisateur (X mod users) + 1.
+ */
+public final class BenchmarkData {
+
+    private BenchmarkData() {}
+
+    public static int users(int notes) {
+        return Math.max(notes / 100, 1);
+    }
+
+    public static void populate(Connection connection, int notes, String contentMd) throws SQLException {
+        int users = users(notes);
+        int shares = notes / 10;
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("INSERT INTO users (id, email, password_hash, name, created_at) " +
+                    "SELECT X, CONCAT('user', X, '@example.com'), 'password-hash', CONCAT('User ', X), " +
+                    "TIMESTAMP '2024-01-01 00:00:00' FROM SYSTEM_RANGE(1, " + users + ")");
+            statement.execute("INSERT INTO notes (id, owner_id, title, content_md, visibility, created_at, updated_at) " +
+                    "SELECT X, MOD(X, " + users + ") + 1, CONCAT('Note ', X), '" + contentMd.replace("'", "''") + "', " +
+                    "'PRIVATE', TIMESTAMP '2024-01-01 00:00:00', DATEADD('SECOND', X, TIMESTAMP '2024-01-01 00:00:00') " +
+                    "FROM SYSTEM_RANGE(1, " + notes + ")");
+            statement.execute("INSERT INTO shares (id, note_id, shared_with_user_id, permission, created_at) " +
+                    "SELECT X, MOD(X * 7919, " + notes + ") + 1, MOD(X * 31, " + users + ") + 1, 'READ', " +
+                    "TIMESTAMP '2024-01-01 00:00:00' FROM SYSTEM_RANGE(1, " + shares + ")");
+            statement.execute("INSERT INTO note_access (user_id, note_id, role, updated_at) " +
+                    "SELECT owner_id, id, 'OWNER', updated_at FROM notes");
+            statement.execute("INSERT INTO note_access (user_id, note_id, role, updated_at) " +
+                    "SELECT DISTINCT s.shared_with_user_id, s.note_id, 'READ', n.updated_at FROM shares s " +
+                    "JOIN notes n ON n.id = s.note_id WHERE s.shared_with_user_id <> n.owner_id");
+            // Séquences après les ids générés, comme après une migration V4 sur une base existante
+            for (String table : new String[] {"users", "notes", "shares"}) {
+                statement.execute("ALTER SEQUENCE " + table + "_seq RESTART WITH (SELECT COALESCE(MAX(id), 0) + 50 FROM " + table + ")");
+            }
+            statement.execute("ANALYZE");
+        }
+    }
+}
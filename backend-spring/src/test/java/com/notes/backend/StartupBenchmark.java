@@ -0,0 +1,84 @@
+package com.notes.backend;
+
+import org.flywaydb.core.Flyway;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.util.FileSystemUtils;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Démarrage à froid du profil prod sur une base H2 fichier déjà migrée et remplie :
+ * validation Flyway, validation du schéma par Hibernate, puis reconstructions lancées sur ApplicationReadyEvent
+ * (index de recherche, dictionnaire de tags, compteurs d'usage), jusqu'au retour de SpringApplication.run.
+ * Lancement : mvn -Pbenchmark test-compile exec:exec -Dbenchmark=StartupBenchmark (-Djmh.args="-p notes=100000" pour un seul jeu)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgs = "-Xmx4g")
+public class StartupBenchmark {
+
+    private static final String CONTENT = "Compte rendu de la réunion : planning, budget, recrutement et suivi des actions. ".repeat(10);
+
+    @Param({"0", "100000", "1000000"})
+    private int notes;
+
+    private Path directory;
+    private String url;
+    private ConfigurableApplicationContext context;
+
+    @Setup(Level.Trial)
+    public void createDatabase() throws IOException, SQLException {
+        directory = Files.createTempDirectory("notes-startup-bench");
+        url = "jdbc:h2:file:" + directory.resolve("notes");
+        Flyway.configure().dataSource(url, "sa", "password").load().migrate();
+        if (notes > 0) {
+            try (Connection connection = DriverManager.getConnection(url, "sa", "password")) {
+                BenchmarkData.populate(connection, notes, CONTENT);
+            }
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void deleteDatabase() throws IOException {
+        FileSystemUtils.deleteRecursively(directory);
+    }
+
+    @Benchmark
+    public ConfigurableApplicationContext start() {
+        context = new SpringApplicationBuilder(NotesBackendApplication.class)
+                .profiles("prod")
+                .run("--server.port=0", "--spring.datasource.url=" + url, "--logging.level.root=WARN");
+        return context;
+    }
+
+    @TearDown(Level.Invocation)
+    public void stop() {
+        if (context != null) {
+            context.close();
+            context = null;
+        }
+    }
+}
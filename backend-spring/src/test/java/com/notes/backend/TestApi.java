@@ -0,0 +1,83 @@
+package com.notes.backend;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.util.UUID;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Appels d'API communs aux tests (inscription, création et partage de notes) via MockMvc
+ */
+public final class TestApi {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private final MockMvc mockMvc;
+
+    public TestApi(MockMvc mockMvc) {
+        this.mockMvc = mockMvc;
+    }
+
+    /**
+     * Email unique : les tests partagent la même base en mémoire
+     */
+    public static String uniqueEmail(String name) {
+        return name + "-" + UUID.randomUUID().toString().substring(0, 8) + "@notes.test";
+    }
+
+    /**
+     * Inscrit un utilisateur et retourne son token d'accès
+     */
+    public String register(String email) throws Exception {
+        String body = "{\"name\":\"Test user\",\"email\":\"" + email + "\",\"password\":\"secret123\"}";
+        MvcResult result = mockMvc.perform(post("/auth/register").contentType(MediaType.APPLICATION_JSON).content(body))
+                .andReturn();
+        return json(result).get("accessToken").asText();
+    }
+
+    /**
+     * Crée une note et retourne son id
+     */
+    public long createNote(String token, String title, String contentMd, String... tags) throws Exception {
+        StringBuilder json = new StringBuilder("{\"title\":").append(MAPPER.writeValueAsString(title))
+                .append(",\"contentMd\":").append(MAPPER.writeValueAsString(contentMd))
+                .append(",\"tags\":").append(MAPPER.writeValueAsString(tags)).append('}');
+        MvcResult result = mockMvc.perform(post("/notes").header("Authorization", bearer(token))
+                        .contentType(MediaType.APPLICATION_JSON).content(json.toString()))
+                .andExpect(status().isCreated())
+                .andReturn();
+        return json(result).get("id").asLong();
+    }
+
+    /**
+     * Partage une note avec un autre utilisateur
+     */
+    public void share(String ownerToken, long noteId, String email) throws Exception {
+        mockMvc.perform(post("/notes/" + noteId + "/share/user").param("email", email)
+                        .header("Authorization", bearer(ownerToken)))
+                .andExpect(status().isOk());
+    }
+
+    /**
+     * Crée un lien public et retourne son token
+     */
+    public String publish(String ownerToken, long noteId) throws Exception {
+        return mockMvc.perform(post("/notes/" + noteId + "/share/public").header("Authorization", bearer(ownerToken)))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+    }
+
+    public static String bearer(String token) {
+        return "Bearer " + token;
+    }
+
+    public static JsonNode json(MvcResult result) throws Exception {
+        return MAPPER.readTree(result.getResponse().getContentAsByteArray());
+    }
+}
@@ -0,0 +1,62 @@
+package com.notes.backend.controller;
+
+import com.notes.backend.TestApi;
+import com.notes.backend.model.User;
+import com.notes.backend.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Pool de hachage saturé (aucun hachage ne tient dans le délai) : 503 avec Retry-After,
+ * sans écriture de l'utilisateur à l'inscription
+ */
+@SpringBootTest(properties = {
+        "auth.password-hashing.threads=1",
+        "auth.password-hashing.timeout-ms=1",
+        "auth.password-hashing.retry-after-seconds=7"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class AuthSaturationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Test
+    void loginAnswersServiceUnavailableWithRetryAfter() throws Exception {
+        String email = TestApi.uniqueEmail("busy-login");
+        userRepository.save(new User(email, "{bcrypt}" + new BCryptPasswordEncoder(10).encode("secret123"), "Busy user"));
+
+        mockMvc.perform(post("/auth/login").contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"email\":\"" + email + "\",\"password\":\"secret123\"}"))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string(HttpHeaders.RETRY_AFTER, "7"));
+    }
+
+    @Test
+    void registerAnswersServiceUnavailableBeforeWritingTheUser() throws Exception {
+        String email = TestApi.uniqueEmail("busy-register");
+
+        mockMvc.perform(post("/auth/register").contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\":\"Busy user\",\"email\":\"" + email + "\",\"password\":\"secret123\"}"))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string(HttpHeaders.RETRY_AFTER, "7"));
+
+        assertThat(userRepository.existsByEmail(email)).isFalse();
+    }
+}
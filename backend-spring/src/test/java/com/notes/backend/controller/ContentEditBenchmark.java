@@ -0,0 +1,134 @@
+package com.notes.backend.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.notes.backend.NotesBackendApplication;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sauvegarde d'une modification d'un caractère dans une longue note, en HTTP sur le serveur embarqué :
+ * PUT du contenu complet comparé au PATCH par remplacement de plage (contentEdits).
+ * Les tailles des requêtes et réponses de chaque variante sont affichées au démarrage.
+ * Lancement : mvn -Pbenchmark test-compile exec:exec -Dbenchmark=ContentEditBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ContentEditBenchmark {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    @Param({"40000"})
+    private int contentLength;
+
+    private ConfigurableApplicationContext context;
+    private HttpClient client;
+    private String baseUrl;
+    private String authorization;
+    private long fullNoteId;
+    private long deltaNoteId;
+    private char[] content;
+    private long deltaVersion;
+    private int edits;
+    private int lastRequestBytes;
+
+    @Setup
+    public void setUp() throws Exception {
+        context = new SpringApplicationBuilder(NotesBackendApplication.class)
+                .profiles("test")
+                .run("--server.port=0", "--spring.datasource.url=jdbc:h2:mem:content-edit-bench");
+        baseUrl = "http://localhost:" + context.getEnvironment().getProperty("local.server.port");
+        client = HttpClient.newHttpClient();
+
+        JsonNode registered = json(send("POST", "/auth/register",
+                "{\"name\":\"Editor\",\"email\":\"editor@example.com\",\"password\":\"secret123\"}"));
+        authorization = "Bearer " + registered.get("accessToken").asText();
+        content = "a".repeat(contentLength).toCharArray();
+        fullNoteId = json(send("POST", "/notes", noteJson("Note complète"))).get("id").asLong();
+        deltaNoteId = json(send("POST", "/notes", noteJson("Note par deltas"))).get("id").asLong();
+
+        HttpResponse<byte[]> full = fullUpdate();
+        int fullRequestBytes = lastRequestBytes;
+        HttpResponse<byte[]> delta = deltaPatch();
+        System.out.printf("PUT: request %d bytes, response %d bytes (%d); PATCH: request %d bytes, response %d bytes (%d)%n",
+                fullRequestBytes, full.body().length, full.statusCode(),
+                lastRequestBytes, delta.body().length, delta.statusCode());
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    /**
+     * Le client renvoie la note entière et reçoit la note entière
+     */
+    @Benchmark
+    public HttpResponse<byte[]> fullUpdate() throws Exception {
+        int position = nextEdit();
+        content[position] = content[position] == 'a' ? 'b' : 'a';
+        return send("PUT", "/notes/" + fullNoteId, noteJson("Note complète"));
+    }
+
+    /**
+     * Le client n'envoie que la plage modifiée sur sa version de base et reçoit la réponse minimale du PATCH
+     */
+    @Benchmark
+    public HttpResponse<byte[]> deltaPatch() throws Exception {
+        int position = nextEdit();
+        String text = edits % 2 == 0 ? "b" : "c";
+        HttpResponse<byte[]> response = send("PATCH", "/notes/" + deltaNoteId, "{\"baseVersion\":" + deltaVersion
+                + ",\"contentEdits\":[{\"start\":" + position + ",\"end\":" + (position + 1)
+                + ",\"text\":\"" + text + "\"}]}");
+        deltaVersion = json(response).get("version").asLong();
+        return response;
+    }
+
+    private int nextEdit() {
+        return (++edits * 7919) % contentLength;
+    }
+
+    private String noteJson(String title) {
+        return "{\"title\":\"" + title + "\",\"contentMd\":\"" + new String(content) + "\",\"tags\":[]}";
+    }
+
+    private HttpResponse<byte[]> send(String method, String path, String body) throws IOException, InterruptedException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        lastRequestBytes = bytes.length;
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .header("Content-Type", "application/json")
+                .method(method, HttpRequest.BodyPublishers.ofByteArray(bytes));
+        if (authorization != null) {
+            request.header("Authorization", authorization);
+        }
+        return client.send(request.build(), HttpResponse.BodyHandlers.ofByteArray());
+    }
+
+    private static JsonNode json(HttpResponse<byte[]> response) throws IOException {
+        return MAPPER.readTree(response.body());
+    }
+}
@@ -0,0 +1,80 @@
+package com.notes.backend.controller;
+
+import com.notes.backend.TestApi;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+
+import static com.notes.backend.TestApi.bearer;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Validation des modifications partielles : positions négatives, textes et contenu résultant trop longs,
+ * titre vide
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class ContentEditValidationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    private TestApi api;
+
+    @BeforeEach
+    void setUp() {
+        api = new TestApi(mockMvc);
+    }
+
+    @Test
+    void negativePositionsAndOversizedEditsAreRejected() throws Exception {
+        String token = api.register(TestApi.uniqueEmail("editor"));
+        long noteId = api.createNote(token, "Edited note", "abc");
+
+        patchEdits(token, noteId, "{\"start\":-1,\"end\":0,\"text\":\"x\"}")
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.details['contentEdits[0].start']").value("Edit start must not be negative"));
+
+        patchEdits(token, noteId, "{\"start\":0,\"end\":0,\"text\":\"" + "x".repeat(50_001) + "\"}")
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.details['contentEdits[0].text']").value("Edit text must not exceed 50,000 characters"));
+
+        // Chaque texte est admis seul, leur somme dépasse la taille maximale
+        String half = "x".repeat(30_000);
+        patchEdits(token, noteId, "{\"start\":0,\"end\":0,\"text\":\"" + half + "\"},"
+                + "{\"start\":3,\"end\":3,\"text\":\"" + half + "\"}")
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Invalid content: must not exceed 50,000 characters"));
+
+        patchEdits(token, noteId, "{\"start\":0,\"end\":3,\"text\":\"" + half + "\"}")
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.version").value(1));
+    }
+
+    @Test
+    void blankTitleIsRejectedLikeOnCreation() throws Exception {
+        String token = api.register(TestApi.uniqueEmail("editor"));
+        long noteId = api.createNote(token, "Titled note", "abc");
+
+        mockMvc.perform(patch("/notes/" + noteId).header("Authorization", bearer(token))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"title\":\"   \"}"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.details.title").value("Title is required"));
+    }
+
+    private ResultActions patchEdits(String token, long noteId, String edits) throws Exception {
+        return mockMvc.perform(patch("/notes/" + noteId).header("Authorization", bearer(token))
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"baseVersion\":0,\"contentEdits\":[" + edits + "]}"));
+    }
+}
@@ -0,0 +1,88 @@
+package com.notes.backend.controller;
+
+import com.notes.backend.TestApi;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static com.notes.backend.TestApi.bearer;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Rendu HTML assaini (format=html) sur /notes/{id} et /p/{token} : HTML brut échappé,
+ * URL javascript: et data: des liens et images neutralisées
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class MarkdownSanitizationTest {
+
+    private static final String HOSTILE_MARKDOWN = """
+            <script>alert(1)</script>
+
+            Texte <b onmouseover="steal()">gras</b>
+
+            <img src=x onerror=alert(2)>
+
+            [lien](javascript:alert(3)) [casse](JaVaScRiPt:alert(4))
+
+            ![image](data:image/svg+xml;base64,PHN2Zz4=)
+
+            [donnees](data:text/html;base64,PHNjcmlwdD4=)
+
+            [sain](https://example.com/page)
+            """;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    private TestApi api;
+
+    @BeforeEach
+    void setUp() {
+        api = new TestApi(mockMvc);
+    }
+
+    @Test
+    void ownerViewEscapesHtmlAndNeutralizesUrls() throws Exception {
+        String owner = api.register(TestApi.uniqueEmail("owner"));
+        long noteId = api.createNote(owner, "Hostile", HOSTILE_MARKDOWN);
+
+        String html = TestApi.json(mockMvc.perform(get("/notes/" + noteId).param("format", "html")
+                        .header("Authorization", bearer(owner)))
+                .andExpect(status().isOk())
+                .andReturn()).get("contentHtml").asText();
+
+        assertSanitized(html);
+    }
+
+    @Test
+    void publicViewEscapesHtmlAndNeutralizesUrls() throws Exception {
+        String owner = api.register(TestApi.uniqueEmail("owner"));
+        long noteId = api.createNote(owner, "Hostile", HOSTILE_MARKDOWN);
+        String urlToken = api.publish(owner, noteId);
+
+        String html = TestApi.json(mockMvc.perform(get("/p/" + urlToken).param("format", "html"))
+                .andExpect(status().isOk())
+                .andReturn()).get("contentHtml").asText();
+
+        assertSanitized(html);
+    }
+
+    private static void assertSanitized(String html) {
+        // HTML brut rendu comme du texte
+        assertThat(html).doesNotContain("<script").doesNotContain("<b ").doesNotContain("<img src=\"x\"")
+                .contains("&lt;script&gt;alert(1)&lt;/script&gt;")
+                .contains("&lt;img src=x onerror=alert(2)&gt;");
+        // URL dangereuses vidées, quelle que soit la casse du schéma
+        assertThat(html.toLowerCase()).doesNotContain("javascript:").doesNotContain("data:");
+        assertThat(html).contains("<img src=\"\" alt=\"image\" />")
+                .contains("href=\"https://example.com/page\"");
+    }
+}
@@ -0,0 +1,91 @@
+package com.notes.backend.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.notes.backend.TestApi;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.notes.backend.TestApi.bearer;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Bornes des paramètres de pagination et pagination par curseur des notes partagées
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class NoteListPaginationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    private TestApi api;
+
+    @BeforeEach
+    void setUp() {
+        api = new TestApi(mockMvc);
+    }
+
+    @Test
+    void rejectsOutOfRangePageSizes() throws Exception {
+        String token = api.register(TestApi.uniqueEmail("sizes"));
+
+        for (String path : List.of("/notes", "/notes/shared")) {
+            mockMvc.perform(get(path).param("cursor", "").param("size", "0").header("Authorization", bearer(token)))
+                    .andExpect(status().isBadRequest())
+                    .andExpect(jsonPath("$.code").value("BAD_REQUEST"));
+            mockMvc.perform(get(path).param("size", "101").header("Authorization", bearer(token)))
+                    .andExpect(status().isBadRequest());
+            mockMvc.perform(get(path).param("page", "-1").header("Authorization", bearer(token)))
+                    .andExpect(status().isBadRequest());
+            mockMvc.perform(get(path).param("cursor", "").param("size", "100").header("Authorization", bearer(token)))
+                    .andExpect(status().isOk());
+        }
+    }
+
+    @Test
+    void sharedNotesCursorWalksAllSharedNotesOnly() throws Exception {
+        String ownerEmail = TestApi.uniqueEmail("owner");
+        String readerEmail = TestApi.uniqueEmail("reader");
+        String owner = api.register(ownerEmail);
+        String reader = api.register(readerEmail);
+
+        List<Long> shared = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            long noteId = api.createNote(owner, "Shared note " + i, "content " + i);
+            api.share(owner, noteId, readerEmail);
+            shared.add(0, noteId);
+        }
+        // Notes du lecteur lui-même : absentes de la liste des notes partagées
+        api.createNote(reader, "Own note", "mine");
+
+        for (String view : List.of("full", "summary")) {
+            List<Long> seen = new ArrayList<>();
+            String cursor = "";
+            do {
+                JsonNode page = TestApi.json(mockMvc.perform(get("/notes/shared").param("cursor", cursor)
+                                .param("size", "2").param("view", view).param("includeTotal", "true")
+                                .header("Authorization", bearer(reader)))
+                        .andExpect(status().isOk())
+                        .andReturn());
+                assertThat(page.get("totalElements").asLong()).isEqualTo(5);
+                page.get("content").forEach(note -> seen.add(note.get("id").asLong()));
+                cursor = page.get("nextCursor").isNull() ? null : page.get("nextCursor").asText();
+            } while (cursor != null);
+
+            // Dernière partagée en premier : l'ordre suit updatedAt DESC, id DESC
+            assertThat(seen).as(view).containsExactlyElementsOf(shared);
+        }
+    }
+}
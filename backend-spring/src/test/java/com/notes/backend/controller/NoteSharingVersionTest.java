@@ -0,0 +1,114 @@
+package com.notes.backend.controller;
+
+import com.notes.backend.TestApi;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.ResultActions;
+
+import static com.notes.backend.TestApi.bearer;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Les partages changent l'ETag et Last-Modified sans incrémenter la version du contenu (If-Match, baseVersion)
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class NoteSharingVersionTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    private TestApi api;
+
+    @BeforeEach
+    void setUp() {
+        api = new TestApi(mockMvc);
+    }
+
+    @Test
+    void sharingKeepsContentVersionButChangesETag() throws Exception {
+        String owner = api.register(TestApi.uniqueEmail("owner"));
+        String readerEmail = TestApi.uniqueEmail("reader");
+        api.register(readerEmail);
+        long noteId = api.createNote(owner, "Versioned note", "body");
+
+        MvcResult before = getNote(owner, noteId);
+        String etagBefore = before.getResponse().getHeader(HttpHeaders.ETAG);
+        assertThat(etagBefore).isEqualTo("\"0\"");
+
+        api.share(owner, noteId, readerEmail);
+        api.publish(owner, noteId);
+
+        MvcResult after = getNote(owner, noteId);
+        assertThat(TestApi.json(after).get("version").asLong()).isZero();
+        // Version du contenu inchangée, version de partage incrémentée par le partage et la publication
+        assertThat(after.getResponse().getHeader(HttpHeaders.ETAG)).isEqualTo("\"0.2\"");
+        // Last-Modified est à la seconde : il ne recule pas, l'ETag porte la comparaison fine
+        assertThat(after.getResponse().getDateHeader(HttpHeaders.LAST_MODIFIED))
+                .isGreaterThanOrEqualTo(before.getResponse().getDateHeader(HttpHeaders.LAST_MODIFIED));
+
+        // L'ancien ETag n'est plus à jour pour la lecture...
+        mockMvc.perform(get("/notes/" + noteId).header(HttpHeaders.IF_NONE_MATCH, etagBefore)
+                        .header("Authorization", bearer(owner)))
+                .andExpect(status().isOk());
+
+        // ... mais reste valable pour modifier le contenu : le partage n'a pas changé la note
+        mockMvc.perform(patch("/notes/" + noteId).header(HttpHeaders.IF_MATCH, etagBefore)
+                        .header("Authorization", bearer(owner))
+                        .contentType(MediaType.APPLICATION_JSON).content("{\"contentMd\":\"edited\"}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.version").value(1))
+                .andExpect(header().string(HttpHeaders.ETAG, "\"1.2\""));
+
+        mockMvc.perform(patch("/notes/" + noteId).header(HttpHeaders.IF_MATCH, "\"0.2\"")
+                        .header("Authorization", bearer(owner))
+                        .contentType(MediaType.APPLICATION_JSON).content("{\"contentMd\":\"stale\"}"))
+                .andExpect(status().isPreconditionFailed())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"1.2\""));
+    }
+
+    @Test
+    void ifMatchAcceptsAListOfStrongTagsAndRejectsWeakOnes() throws Exception {
+        String owner = api.register(TestApi.uniqueEmail("owner"));
+        long noteId = api.createNote(owner, "Conditional note", "body");
+
+        // If-Match exige une comparaison forte
+        patchIfMatch(owner, noteId, "W/\"0\"", "weak")
+                .andExpect(status().isPreconditionFailed())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"0\""));
+
+        patchIfMatch(owner, noteId, "\"3\", W/\"0\", \"0\"", "listed")
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.version").value(1));
+
+        patchIfMatch(owner, noteId, "\"3\", \"4\"", "stale")
+                .andExpect(status().isPreconditionFailed())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"1\""));
+    }
+
+    private ResultActions patchIfMatch(String token, long noteId, String ifMatch, String content) throws Exception {
+        return mockMvc.perform(patch("/notes/" + noteId).header(HttpHeaders.IF_MATCH, ifMatch)
+                .header("Authorization", bearer(token))
+                .contentType(MediaType.APPLICATION_JSON).content("{\"contentMd\":\"" + content + "\"}"));
+    }
+
+    private MvcResult getNote(String token, long noteId) throws Exception {
+        return mockMvc.perform(get("/notes/" + noteId).header("Authorization", bearer(token)))
+                .andExpect(status().isOk())
+                .andReturn();
+    }
+}
@@ -0,0 +1,78 @@
+package com.notes.backend.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.notes.backend.TestApi;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Vue publique hors cache serveur : une seule requête SQL (lien, note, propriétaire et labels des tags)
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class PublicNoteStatementCountTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+    private TestApi api;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        api = new TestApi(mockMvc);
+    }
+
+    @Test
+    void cacheMissLoadsTheTaggedNoteInOneStatement() throws Exception {
+        String owner = api.register(TestApi.uniqueEmail("owner"));
+        long noteId = api.createNote(owner, "Counted note", "corps", "zeta", "alpha", "mu");
+        String urlToken = api.publish(owner, noteId);
+
+        JsonNode markdown = viewCounting(urlToken, "md", 1);
+        assertThat(markdown.get("tags")).extracting(JsonNode::asText).containsExactly("alpha", "mu", "zeta");
+
+        JsonNode html = viewCounting(urlToken, "html", 1);
+        assertThat(html.get("tags")).hasSize(3);
+
+        // Servie par le cache serveur : aucune requête
+        viewCounting(urlToken, "md", 0);
+    }
+
+    @Test
+    void cacheMissWithoutTagsLoadsInOneStatement() throws Exception {
+        String owner = api.register(TestApi.uniqueEmail("owner"));
+        long noteId = api.createNote(owner, "Untagged note", "corps");
+        String urlToken = api.publish(owner, noteId);
+
+        JsonNode markdown = viewCounting(urlToken, "md", 1);
+        assertThat(markdown.get("tags")).isEmpty();
+    }
+
+    private JsonNode viewCounting(String urlToken, String format, long expectedStatements) throws Exception {
+        statistics.setStatisticsEnabled(true);
+        statistics.clear();
+        JsonNode body = TestApi.json(mockMvc.perform(get("/p/" + urlToken).param("format", format))
+                .andExpect(status().isOk())
+                .andReturn());
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(expectedStatements);
+        return body;
+    }
+}
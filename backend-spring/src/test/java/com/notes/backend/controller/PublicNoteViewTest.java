@@ -0,0 +1,110 @@
+package com.notes.backend.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.notes.backend.TestApi;
+import com.notes.backend.service.PublicNoteCache;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+
+import static com.notes.backend.TestApi.bearer;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Vue publique d'une note : tags listés une fois chacun, un seul des deux contenus selon le format,
+ * même politique de cache HTTP avec ou sans cache serveur, invalidation après tout changement de la note
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class PublicNoteViewTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private PublicNoteCache publicNoteCache;
+
+    private TestApi api;
+
+    @BeforeEach
+    void setUp() {
+        api = new TestApi(mockMvc);
+    }
+
+    @Test
+    void publicNoteListsEachTagOnceAndOnlyTheRequestedContent() throws Exception {
+        String owner = api.register(TestApi.uniqueEmail("owner"));
+        long noteId = api.createNote(owner, "Public note", "# Titre\n\ncorps", "zeta", "alpha", "mu");
+        String urlToken = api.publish(owner, noteId);
+
+        JsonNode markdown = TestApi.json(mockMvc.perform(get("/p/" + urlToken))
+                .andExpect(status().isOk())
+                .andReturn());
+        assertThat(markdown.get("tags")).extracting(JsonNode::asText).containsExactly("alpha", "mu", "zeta");
+        assertThat(markdown.get("contentMd").asText()).isEqualTo("# Titre\n\ncorps");
+        assertThat(markdown.has("contentHtml")).isFalse();
+
+        JsonNode html = TestApi.json(mockMvc.perform(get("/p/" + urlToken).param("format", "html"))
+                .andExpect(status().isOk())
+                .andReturn());
+        assertThat(html.get("tags")).hasSize(3);
+        assertThat(html.get("contentHtml").asText()).contains("<h1>Titre</h1>");
+        assertThat(html.has("contentMd")).isFalse();
+    }
+
+    @Test
+    void notModifiedCarriesSameCacheControlWithOrWithoutCachedEntry() throws Exception {
+        String owner = api.register(TestApi.uniqueEmail("owner"));
+        long noteId = api.createNote(owner, "Cached note", "corps");
+        String urlToken = api.publish(owner, noteId);
+
+        // Requête conditionnelle hors cache : seule la version est lue
+        String etag = mockMvc.perform(get("/p/" + urlToken)).andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        publicNoteCache.invalidateNote(noteId);
+        String uncached = mockMvc.perform(get("/p/" + urlToken).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified())
+                .andReturn().getResponse().getHeader(HttpHeaders.CACHE_CONTROL);
+
+        mockMvc.perform(get("/p/" + urlToken)).andExpect(status().isOk());
+        String cached = mockMvc.perform(get("/p/" + urlToken).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified())
+                .andReturn().getResponse().getHeader(HttpHeaders.CACHE_CONTROL);
+
+        assertThat(uncached).isEqualTo(cached).contains("public").contains("max-age=");
+    }
+
+    @Test
+    void editAfterVisibilityChangeIsNotServedStale() throws Exception {
+        String owner = api.register(TestApi.uniqueEmail("owner"));
+        long noteId = api.createNote(owner, "Before", "corps");
+        String urlToken = api.publish(owner, noteId);
+        mockMvc.perform(get("/p/" + urlToken)).andExpect(status().isOk());
+
+        // Le lien reste valide après le passage en privé : les modifications suivantes doivent l'invalider
+        patch(owner, noteId, "{\"visibility\":\"PRIVATE\"}");
+        mockMvc.perform(get("/p/" + urlToken)).andExpect(status().isOk());
+        patch(owner, noteId, "{\"title\":\"After\"}");
+
+        JsonNode note = TestApi.json(mockMvc.perform(get("/p/" + urlToken))
+                .andExpect(status().isOk())
+                .andReturn());
+        assertThat(note.get("title").asText()).isEqualTo("After");
+    }
+
+    private void patch(String token, long noteId, String body) throws Exception {
+        mockMvc.perform(MockMvcRequestBuilders.patch("/notes/" + noteId).header("Authorization", bearer(token))
+                        .contentType(MediaType.APPLICATION_JSON).content(body))
+                .andExpect(status().isOk());
+    }
+}
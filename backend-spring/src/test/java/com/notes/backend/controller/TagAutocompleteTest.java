@@ -0,0 +1,76 @@
+package com.notes.backend.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.notes.backend.TestApi;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.UUID;
+import java.util.stream.StreamSupport;
+
+import static com.notes.backend.TestApi.bearer;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Autocomplétion des tags par préfixe du label normalisé : casse et accents ignorés, ordre du label normalisé, limite
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class TagAutocompleteTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    private TestApi api;
+    private String token;
+    private String stem;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        api = new TestApi(mockMvc);
+        token = api.register(TestApi.uniqueEmail("tagger"));
+        // Préfixe propre au test : les tags sont partagés entre les classes de test
+        stem = "ac" + UUID.randomUUID().toString().replace("-", "").substring(0, 8);
+        api.createNote(token, "Tagged", "", stem + "Éa", stem + "eb", stem + "EC", stem + "ëd", stem + "x");
+    }
+
+    @Test
+    void prefixIgnoresCaseAndAccents() throws Exception {
+        assertThat(autocomplete(stem.toUpperCase(Locale.ROOT) + "E", 10))
+                .containsExactly(stem + "Éa", stem + "eb", stem + "EC", stem + "ëd");
+        assertThat(autocomplete(stem + "é", 10)).hasSize(4);
+        assertThat(autocomplete(stem + "ÉC", 10)).containsExactly(stem + "EC");
+    }
+
+    @Test
+    void limitKeepsFirstMatchesInNormalizedOrder() throws Exception {
+        assertThat(autocomplete(stem, 2)).containsExactly(stem + "Éa", stem + "eb");
+        assertThat(autocomplete(stem, 10)).hasSize(5);
+    }
+
+    @Test
+    void limitOutOfRangeIsRejected() throws Exception {
+        mockMvc.perform(get("/tags/autocomplete").param("prefix", stem).param("limit", "0")
+                        .header("Authorization", bearer(token)))
+                .andExpect(status().isBadRequest());
+    }
+
+    private List<String> autocomplete(String prefix, int limit) throws Exception {
+        JsonNode tags = TestApi.json(mockMvc.perform(get("/tags/autocomplete")
+                        .param("prefix", prefix).param("limit", String.valueOf(limit))
+                        .header("Authorization", bearer(token)))
+                .andExpect(status().isOk())
+                .andReturn());
+        return StreamSupport.stream(tags.spliterator(), false).map(tag -> tag.get("label").asText()).toList();
+    }
+}
@@ -0,0 +1,93 @@
+package com.notes.backend.monitoring;
+
+import com.notes.backend.model.User;
+import com.notes.backend.repository.UserRepository;
+import com.notes.backend.security.JwtUtil;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Seuls health et info sont publics : métriques et trace SQL, en lecture comme en reconfiguration,
+ * sont réservées aux comptes administrateurs
+ */
+@SpringBootTest(properties = "auth.admin-emails=ops@notes.test")
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class SqlTraceEndpointSecurityTest {
+
+    private static final String ENABLE_BODY = "{\"enabled\": false, \"sampleRate\": 1}";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Test
+    void healthAndInfoArePublic() throws Exception {
+        mockMvc.perform(get("/actuator/health")).andExpect(status().isOk());
+        mockMvc.perform(get("/actuator/info")).andExpect(status().isOk());
+    }
+
+    @Test
+    void anonymousAndRegularUserCannotReadMetricsOrStatus() throws Exception {
+        String userToken = "Bearer " + tokenFor("someone@notes.test");
+        for (String endpoint : new String[] {"/actuator/sqltrace", "/actuator/metrics", "/actuator/metrics/jvm.memory.used"}) {
+            mockMvc.perform(get(endpoint)).andExpect(status().isForbidden());
+            mockMvc.perform(get(endpoint).header("Authorization", userToken)).andExpect(status().isForbidden());
+        }
+    }
+
+    @Test
+    void adminCanReadMetricsAndStatus() throws Exception {
+        String adminToken = "Bearer " + tokenFor("ops@notes.test");
+        mockMvc.perform(get("/actuator/sqltrace").header("Authorization", adminToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.sampleRate").exists());
+        mockMvc.perform(get("/actuator/metrics").header("Authorization", adminToken))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void anonymousCannotReconfigure() throws Exception {
+        mockMvc.perform(post("/actuator/sqltrace").contentType(MediaType.APPLICATION_JSON).content(ENABLE_BODY))
+                .andExpect(status().isForbidden());
+    }
+
+    @Test
+    void regularUserCannotReconfigure() throws Exception {
+        mockMvc.perform(post("/actuator/sqltrace").contentType(MediaType.APPLICATION_JSON).content(ENABLE_BODY)
+                        .header("Authorization", "Bearer " + tokenFor("someone@notes.test")))
+                .andExpect(status().isForbidden());
+    }
+
+    @Test
+    void adminCanReconfigure() throws Exception {
+        mockMvc.perform(post("/actuator/sqltrace").contentType(MediaType.APPLICATION_JSON).content(ENABLE_BODY)
+                        .header("Authorization", "Bearer " + tokenFor("OPS@notes.test")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.sampleRate").value(1));
+    }
+
+    /**
+     * Token d'un compte existant (les tokens d'un utilisateur absent de la base sont refusés)
+     */
+    private String tokenFor(String email) {
+        User user = userRepository.findByEmail(email)
+                .orElseGet(() -> userRepository.save(new User(email, "password-hash", "Test")));
+        return jwtUtil.generateAccessToken(user);
+    }
+}
@@ -0,0 +1,161 @@
+package com.notes.backend.repository;
+
+import com.notes.backend.BenchmarkData;
+import org.flywaydb.core.Flyway;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Listes et contrôles d'accès sur la liste d'accès matérialisée note_access, comparés aux requêtes précédentes
+ * (LEFT JOIN sur shares et OR propriétaire/partage), sur une base H2 migrée par Flyway.
+ * Volume : notes, 1 partage pour 10 notes, 1 utilisateur pour 100 notes (BenchmarkData).
+ * Lancement à 1M de notes (prévoir -Xmx4g) :
+ * mvn -Pbenchmark test-compile exec:exec -Dbenchmark=NoteAccessQueryBenchmark -Djmh.args="-p notes=1000000 -jvmArgs -Xmx4g"
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 5)
+@Fork(value = 1, jvmArgs = "-Xmx2g")
+public class NoteAccessQueryBenchmark {
+
+    private static final int PAGE_SIZE = 20;
+
+    // Requête actuelle : parcours de l'index (user_id, updated_at DESC, note_id DESC) de note_access
+    private static final String LIST_ACCESSIBLE = "SELECT n.id, n.title, n.updated_at FROM notes n " +
+            "JOIN note_access a ON a.note_id = n.id WHERE a.user_id = ? " +
+            "ORDER BY a.user_id, a.updated_at DESC, a.note_id DESC FETCH FIRST " + PAGE_SIZE + " ROWS ONLY";
+
+    // Requête précédente : OR entre propriétaire et partage, DISTINCT et tri de toutes les notes visibles
+    private static final String LIST_ACCESSIBLE_WITH_SHARES = "SELECT DISTINCT n.id, n.title, n.updated_at FROM notes n " +
+            "LEFT JOIN shares s ON s.note_id = n.id AND s.shared_with_user_id = ? " +
+            "WHERE n.owner_id = ? OR s.shared_with_user_id = ? " +
+            "ORDER BY n.updated_at DESC FETCH FIRST " + PAGE_SIZE + " ROWS ONLY";
+
+    private static final String LIST_SHARED = "SELECT n.id, n.title, n.updated_at FROM notes n " +
+            "JOIN note_access a ON a.note_id = n.id WHERE a.user_id = ? AND a.role = 'READ' " +
+            "ORDER BY a.user_id, a.role, a.updated_at DESC, a.note_id DESC FETCH FIRST " + PAGE_SIZE + " ROWS ONLY";
+
+    private static final String CHECK_ACCESS = "SELECT n.id FROM notes n WHERE n.id = ? " +
+            "AND EXISTS (SELECT 1 FROM note_access a WHERE a.user_id = ? AND a.note_id = n.id)";
+
+    private static final String CHECK_ACCESS_WITH_SHARES = "SELECT DISTINCT n.id FROM notes n " +
+            "LEFT JOIN shares s ON s.note_id = n.id AND s.shared_with_user_id = ? " +
+            "WHERE n.id = ? AND (n.owner_id = ? OR s.shared_with_user_id = ?)";
+
+    @Param({"100000"})
+    private int notes;
+
+    private int users;
+    private Connection connection;
+    private PreparedStatement listAccessible;
+    private PreparedStatement listAccessibleWithShares;
+    private PreparedStatement listShared;
+    private PreparedStatement checkAccess;
+    private PreparedStatement checkAccessWithShares;
+
+    // Utilisateur et note interrogés, changés à chaque appel pour ne pas relire toujours les mêmes pages
+    private long sequence;
+
+    @Setup
+    public void setUp() throws SQLException {
+        String url = "jdbc:h2:mem:note-access-bench;DB_CLOSE_DELAY=-1";
+        Flyway.configure().dataSource(url, "sa", "").load().migrate();
+        connection = DriverManager.getConnection(url, "sa", "");
+        users = BenchmarkData.users(notes);
+        BenchmarkData.populate(connection, notes, "Contenu");
+
+        listAccessible = connection.prepareStatement(LIST_ACCESSIBLE);
+        listAccessibleWithShares = connection.prepareStatement(LIST_ACCESSIBLE_WITH_SHARES);
+        listShared = connection.prepareStatement(LIST_SHARED);
+        checkAccess = connection.prepareStatement(CHECK_ACCESS);
+        checkAccessWithShares = connection.prepareStatement(CHECK_ACCESS_WITH_SHARES);
+    }
+
+    @TearDown
+    public void tearDown() throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("DROP ALL OBJECTS");
+        }
+        connection.close();
+    }
+
+    @Benchmark
+    public int listAccessible() throws SQLException {
+        listAccessible.setLong(1, nextUser());
+        return count(listAccessible);
+    }
+
+    @Benchmark
+    public int listAccessibleWithShares() throws SQLException {
+        long userId = nextUser();
+        listAccessibleWithShares.setLong(1, userId);
+        listAccessibleWithShares.setLong(2, userId);
+        listAccessibleWithShares.setLong(3, userId);
+        return count(listAccessibleWithShares);
+    }
+
+    @Benchmark
+    public int listShared() throws SQLException {
+        listShared.setLong(1, nextUser());
+        return count(listShared);
+    }
+
+    @Benchmark
+    public int checkAccess() throws SQLException {
+        long userId = nextUser();
+        checkAccess.setLong(1, noteOf(userId));
+        checkAccess.setLong(2, userId);
+        return count(checkAccess);
+    }
+
+    @Benchmark
+    public int checkAccessWithShares() throws SQLException {
+        long userId = nextUser();
+        checkAccessWithShares.setLong(1, userId);
+        checkAccessWithShares.setLong(2, noteOf(userId));
+        checkAccessWithShares.setLong(3, userId);
+        checkAccessWithShares.setLong(4, userId);
+        return count(checkAccessWithShares);
+    }
+
+    private long nextUser() {
+        return ++sequence % users + 1;
+    }
+
+    /**
+     * Une note possédée par l'utilisateur (propriétaires attribués par BenchmarkData)
+     */
+    private long noteOf(long userId) {
+        return userId - 1 == 0 ? users : userId - 1;
+    }
+
+    private static int count(PreparedStatement statement) throws SQLException {
+        int rows = 0;
+        try (ResultSet resultSet = statement.executeQuery()) {
+            while (resultSet.next()) {
+                rows++;
+            }
+        }
+        return rows;
+    }
+}
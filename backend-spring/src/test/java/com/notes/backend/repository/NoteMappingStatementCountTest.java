@@ -0,0 +1,123 @@
+package com.notes.backend.repository;
+
+import com.notes.backend.dto.NoteResponse;
+import com.notes.backend.model.Note;
+import com.notes.backend.model.NoteAccess;
+import com.notes.backend.model.NoteTag;
+import com.notes.backend.model.Share;
+import com.notes.backend.model.Tag;
+import com.notes.backend.model.User;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Nombre de requêtes SQL pour charger une page de notes et la convertir en NoteResponse :
+ * borné et indépendant de la taille de la page (pas de N+1 sur propriétaire, tags et partages)
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@ActiveProfiles("test")
+class NoteMappingStatementCountTest {
+
+    private static final int NOTES = 10;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private NoteRepository noteRepository;
+
+    private Statistics statistics;
+    private User owner;
+    private User reader;
+    private Long firstNoteId;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        owner = entityManager.persist(new User("owner@count.test", "password-hash", "Owner"));
+        reader = entityManager.persist(new User("reader@count.test", "password-hash", "Reader"));
+        User otherReader = entityManager.persist(new User("other@count.test", "password-hash", "Other"));
+        List<Tag> tags = new ArrayList<>();
+        for (String label : List.of("alpha", "beta", "gamma")) {
+            tags.add(entityManager.persist(new Tag(label)));
+        }
+
+        for (int i = 0; i < NOTES; i++) {
+            Note note = new Note(owner, "Note " + i, "content " + i, Note.Visibility.SHARED);
+            tags.forEach(tag -> note.getNoteTags().add(new NoteTag(note, tag)));
+            entityManager.persist(note);
+            entityManager.persist(new Share(note, reader, Share.Permission.READ));
+            entityManager.persist(new Share(note, otherReader, Share.Permission.READ));
+            entityManager.persist(new NoteAccess(owner, note, NoteAccess.Role.OWNER));
+            entityManager.persist(new NoteAccess(reader, note, NoteAccess.Role.READ));
+            entityManager.persist(new NoteAccess(otherReader, note, NoteAccess.Role.READ));
+            if (firstNoteId == null) {
+                firstNoteId = note.getId();
+            }
+        }
+        entityManager.flush();
+    }
+
+    @Test
+    void ownedPageLoadsInBoundedStatements() {
+        long small = statementsToMap(() -> noteRepository.findByUserWithFilters(owner, null, null, PageRequest.of(0, 2)).getContent());
+        long full = statementsToMap(() -> noteRepository.findByUserWithFilters(owner, null, null, PageRequest.of(0, NOTES)).getContent());
+
+        // page + total, puis un lot par association : tags, partages, utilisateurs des partages
+        assertThat(full).isEqualTo(small).isLessThanOrEqualTo(6);
+    }
+
+    @Test
+    void cursorPageLoadsInBoundedStatements() {
+        long small = statementsToMap(() -> noteRepository.findByUserWithFiltersFirst(owner, null, null, PageRequest.of(0, 2)));
+        long full = statementsToMap(() -> noteRepository.findByUserWithFiltersFirst(owner, null, null, PageRequest.of(0, NOTES)));
+
+        assertThat(full).isEqualTo(small).isLessThanOrEqualTo(5);
+    }
+
+    @Test
+    void sharedPageLoadsInBoundedStatements() {
+        long small = statementsToMap(() -> noteRepository.findSharedWithUser(reader, PageRequest.of(0, 2)).getContent());
+        long full = statementsToMap(() -> noteRepository.findSharedWithUser(reader, PageRequest.of(0, NOTES)).getContent());
+
+        assertThat(full).isEqualTo(small).isLessThanOrEqualTo(6);
+    }
+
+    @Test
+    void detailLoadsInBoundedStatements() {
+        long statements = statementsToMap(() -> List.of(noteRepository.findByIdAndUserAccess(firstNoteId, owner).orElseThrow()));
+
+        // note + propriétaire + tags en une requête, puis partages et leurs utilisateurs
+        assertThat(statements).isLessThanOrEqualTo(3);
+    }
+
+    /**
+     * Requêtes préparées pour charger des notes (contexte de persistance vide) et les convertir en réponses
+     */
+    private long statementsToMap(Supplier<List<Note>> query) {
+        entityManager.clear();
+        statistics.setStatisticsEnabled(true);
+        statistics.clear();
+        List<NoteResponse> responses = query.get().stream().map(NoteResponse::new).toList();
+        assertThat(responses).isNotEmpty();
+        return statistics.getPrepareStatementCount();
+    }
+}
@@ -0,0 +1,76 @@
+package com.notes.backend.repository;
+
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Plans d'exécution (EXPLAIN) des requêtes fréquentes sur le schéma migré par Flyway.
+ * Les requêtes reprennent la forme du SQL généré par Hibernate pour NoteRepository, ShareRepository,
+ * PublicLinkRepository et TagRepository : chacune doit passer par l'index attendu et les listes paginées
+ * doivent lire l'index dans l'ordre ("index sorted") au lieu de trier toutes les lignes de l'utilisateur.
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+class QueryPlanTest {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @ParameterizedTest(name = "{0}")
+    @CsvSource(delimiter = ';', value = {
+            "notes accessibles;SELECT n.id FROM notes n JOIN note_access a ON a.note_id = n.id JOIN users o ON o.id = n.owner_id " +
+                    "WHERE a.user_id = 1 AND (CAST(NULL AS VARCHAR) IS NULL OR n.visibility = CAST(NULL AS VARCHAR)) " +
+                    "ORDER BY a.user_id, a.updated_at DESC, a.note_id DESC OFFSET 0 ROWS FETCH FIRST 21 ROWS ONLY" +
+                    ";IDX_NOTE_ACCESS_USER_UPDATED;true",
+            "notes accessibles, page suivante;SELECT n.id FROM notes n JOIN note_access a ON a.note_id = n.id " +
+                    "WHERE a.user_id = 1 AND (a.updated_at < TIMESTAMP '2024-01-01 00:00:00' " +
+                    "OR (a.updated_at = TIMESTAMP '2024-01-01 00:00:00' AND a.note_id < 10)) " +
+                    "ORDER BY a.user_id, a.updated_at DESC, a.note_id DESC FETCH FIRST 21 ROWS ONLY" +
+                    ";IDX_NOTE_ACCESS_USER_UPDATED;true",
+            "notes partagées;SELECT n.id FROM notes n JOIN note_access a ON a.note_id = n.id JOIN users o ON o.id = n.owner_id " +
+                    "WHERE a.user_id = 1 AND a.role = 'READ' " +
+                    "ORDER BY a.user_id, a.role, a.updated_at DESC, a.note_id DESC FETCH FIRST 21 ROWS ONLY" +
+                    ";IDX_NOTE_ACCESS_USER_ROLE_UPDATED;true",
+            "notes partagées, page suivante;SELECT n.id FROM notes n JOIN note_access a ON a.note_id = n.id " +
+                    "WHERE a.user_id = 1 AND a.role = 'READ' AND (a.updated_at < TIMESTAMP '2024-01-01 00:00:00' " +
+                    "OR (a.updated_at = TIMESTAMP '2024-01-01 00:00:00' AND a.note_id < 10)) " +
+                    "ORDER BY a.user_id, a.role, a.updated_at DESC, a.note_id DESC FETCH FIRST 21 ROWS ONLY" +
+                    ";IDX_NOTE_ACCESS_USER_ROLE_UPDATED;true",
+            "nombre de notes partagées;SELECT COUNT(*) FROM note_access a WHERE a.user_id = 1 AND a.role = 'READ'" +
+                    ";IDX_NOTE_ACCESS_USER_ROLE_UPDATED;false",
+            "accès d'une note;UPDATE note_access SET updated_at = TIMESTAMP '2024-01-01 00:00:00' WHERE note_id = 1" +
+                    ";(IDX_NOTE_ACCESS_NOTE|FK_NOTE_ACCESS_NOTE\\w*);false",
+            "reconstruction de l'index de recherche;SELECT a.user_id, a.note_id FROM note_access a WHERE a.role = 'READ' " +
+                    "AND (a.user_id > 1 OR (a.user_id = 1 AND a.note_id > 2)) ORDER BY a.user_id, a.note_id FETCH FIRST 500 ROWS ONLY" +
+                    ";PRIMARY_KEY\\w*;true",
+            "filtre par tag;SELECT nt.id FROM note_tags nt JOIN tags t ON t.id = nt.tag_id WHERE nt.note_id = 1 AND t.label = 'java'" +
+                    ";(IDX_NOTE_TAGS_NOTE|FK_NOTE_TAGS_NOTE\\w*|IDX_NOTE_TAGS_TAG_NOTE|UK_TAGS_LABEL\\w*);false",
+            "notes d'un tag;SELECT nt.note_id FROM note_tags nt WHERE nt.tag_id = 1;IDX_NOTE_TAGS_TAG_NOTE;false",
+            "tags d'une page;SELECT nt.tag_id FROM note_tags nt WHERE nt.note_id IN (1, 2, 3)" +
+                    ";(IDX_NOTE_TAGS_NOTE|FK_NOTE_TAGS_NOTE\\w*);false",
+            "partages d'une note;SELECT s.id FROM shares s WHERE s.note_id = 1;(IDX_SHARES_NOTE|FK_SHARES_NOTE\\w*);false",
+            "partage existant;SELECT s.id FROM shares s WHERE s.shared_with_user_id = 1 AND s.note_id = 2;IDX_SHARES_USER_NOTE;false",
+            "lien public;SELECT pl.note_id FROM public_links pl WHERE pl.url_token = 'abc';UK_PUBLIC_LINKS_URL_TOKEN\\w*;false",
+            "liens expirés;SELECT pl.id FROM public_links pl WHERE pl.expires_at <= TIMESTAMP '2024-01-01 00:00:00'" +
+                    ";IDX_PUBLIC_LINKS_EXPIRES;false",
+            "autocomplétion;SELECT t.label FROM tags t WHERE t.label_normalized >= 'ab' AND t.label_normalized < 'ac'" +
+                    ";UK_TAGS_LABEL_NORMALIZED\\w*;false"
+    })
+    void queryUsesIndex(String name, String sql, String index, boolean sortedByIndex) {
+        String plan = jdbcTemplate.queryForObject("EXPLAIN " + sql, String.class);
+
+        // Index retenu : commentaire "/* PUBLIC.<index>: ... */" du plan H2
+        assertThat(plan).as(name).containsPattern(Pattern.compile("/\\* PUBLIC\\." + index + "[:\\s]", Pattern.CASE_INSENSITIVE));
+        if (sortedByIndex) {
+            assertThat(plan).as(name).contains("/* index sorted */");
+        }
+    }
+}
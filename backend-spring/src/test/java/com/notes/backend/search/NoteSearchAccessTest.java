@@ -0,0 +1,95 @@
+package com.notes.backend.search;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.notes.backend.TestApi;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static com.notes.backend.TestApi.bearer;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Recherche plein texte limitée aux notes possédées ou partagées, y compris après partage et fin de partage
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class NoteSearchAccessTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private NoteSearchIndex searchIndex;
+
+    private TestApi api;
+
+    @BeforeEach
+    void setUp() {
+        api = new TestApi(mockMvc);
+    }
+
+    @Test
+    void searchOnlyReturnsAccessibleNotes() throws Exception {
+        // Terme propre à ce test : la base est partagée entre les classes de test
+        String word = "kiwi" + UUID.randomUUID().toString().substring(0, 6);
+        String ownerEmail = TestApi.uniqueEmail("owner");
+        String readerEmail = TestApi.uniqueEmail("reader");
+        String owner = api.register(ownerEmail);
+        String reader = api.register(readerEmail);
+        String stranger = api.register(TestApi.uniqueEmail("stranger"));
+
+        long ownerNote = api.createNote(owner, "Owner " + word, "fruit salad");
+        long readerNote = api.createNote(reader, "Reader notes", "a " + word + " in the text");
+        api.createNote(stranger, "Stranger notes", "nothing to see");
+
+        assertThat(search(owner, word)).containsExactly(ownerNote);
+        assertThat(search(reader, word)).containsExactly(readerNote);
+
+        api.share(owner, ownerNote, readerEmail);
+        // Titre pondéré plus fort que le contenu ; préfixe accepté
+        assertThat(search(reader, word.substring(0, 6))).containsExactly(ownerNote, readerNote);
+        assertThat(search(stranger, word)).isEmpty();
+
+        JsonNode note = TestApi.json(mockMvc.perform(get("/notes/" + ownerNote).header("Authorization", bearer(owner)))
+                .andReturn());
+        long shareId = note.get("shares").get(0).get("id").asLong();
+        mockMvc.perform(delete("/shares/" + shareId).header("Authorization", bearer(owner)))
+                .andExpect(status().is2xxSuccessful());
+        assertThat(search(reader, word)).containsExactly(readerNote);
+    }
+
+    @Test
+    void staleReindexDoesNotOverwriteNewerVersion() {
+        searchIndex.index(-1L, -1L, 2L, "newer title", "");
+        searchIndex.index(-1L, -1L, 1L, "older title", "");
+
+        assertThat(searchIndex.search(-1L, "newer")).extracting(NoteSearchIndex.SearchHit::noteId).containsExactly(-1L);
+        assertThat(searchIndex.search(-1L, "older")).isEmpty();
+
+        searchIndex.remove(-1L);
+        assertThat(searchIndex.search(-1L, "newer")).isEmpty();
+    }
+
+    private List<Long> search(String token, String query) throws Exception {
+        JsonNode page = TestApi.json(mockMvc.perform(get("/notes").param("query", query)
+                        .header("Authorization", bearer(token)))
+                .andExpect(status().isOk())
+                .andReturn());
+        List<Long> ids = new ArrayList<>();
+        page.get("content").forEach(hit -> ids.add(hit.get("id").asLong()));
+        return ids;
+    }
+}
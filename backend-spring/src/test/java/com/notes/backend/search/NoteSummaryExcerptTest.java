@@ -0,0 +1,66 @@
+package com.notes.backend.search;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.notes.backend.TestApi;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.UUID;
+
+import static com.notes.backend.TestApi.bearer;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Extraits des résumés en texte brut (ni HTML ni URL) et surlignage des termes au-delà de l'extrait
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class NoteSummaryExcerptTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    private TestApi api;
+
+    @BeforeEach
+    void setUp() {
+        api = new TestApi(mockMvc);
+    }
+
+    @Test
+    void excerptDropsHtmlAndUrls() throws Exception {
+        String token = api.register(TestApi.uniqueEmail("excerpt"));
+        api.createNote(token, "Unsafe content", "<script>alert(1)</script>x javascript:alert(1) "
+                + "voir [le lien](https://example.com/page?a=1) ou www.example.com <b>gras</b> <img src=x onerror=alert(2)");
+
+        JsonNode summary = summaries(token, null).get("content").get(0);
+        assertThat(summary.get("excerpt").asText()).isEqualTo("x voir le lien ou gras");
+    }
+
+    @Test
+    void highlightFindsTermsAfterTheExcerpt() throws Exception {
+        String word = "papaye" + UUID.randomUUID().toString().substring(0, 6);
+        String token = api.register(TestApi.uniqueEmail("highlight"));
+        api.createNote(token, "Long note", "Introduction. ".repeat(40) + "Plus loin, une **" + word + "** mûre.");
+
+        JsonNode summary = summaries(token, word).get("content").get(0);
+        assertThat(summary.get("excerpt").asText()).doesNotContain(word);
+        assertThat(summary.get("highlight").asText()).contains("<mark>" + word + "</mark> mûre.").doesNotContain("**");
+    }
+
+    private JsonNode summaries(String token, String query) throws Exception {
+        return TestApi.json(mockMvc.perform(get("/notes").param("view", "summary")
+                        .param("query", query)
+                        .header("Authorization", bearer(token)))
+                .andExpect(status().isOk())
+                .andReturn());
+    }
+}
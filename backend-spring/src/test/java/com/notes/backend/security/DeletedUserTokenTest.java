@@ -0,0 +1,75 @@
+package com.notes.backend.security;
+
+import com.notes.backend.TestApi;
+import com.notes.backend.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static com.notes.backend.TestApi.bearer;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Un token encore valide d'un utilisateur supprimé est refusé comme un token invalide
+ * au lieu d'échouer sur la clé étrangère, sans vérification en base à chaque requête :
+ * immédiatement après une suppression JPA, au premier défaut de cache sinon
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class DeletedUserTokenTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private UserPrincipalCache userPrincipalCache;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private TestApi api;
+
+    @BeforeEach
+    void setUp() {
+        api = new TestApi(mockMvc);
+    }
+
+    @Test
+    void tokenOfDeletedUserIsRejected() throws Exception {
+        String email = TestApi.uniqueEmail("deleted");
+        String token = api.register(email);
+
+        userRepository.delete(userRepository.findByEmail(email).orElseThrow());
+
+        mockMvc.perform(post("/notes").header("Authorization", bearer(token))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"title\":\"After deletion\",\"contentMd\":\"\"}"))
+                .andExpect(status().isForbidden());
+    }
+
+    @Test
+    void tokenOfUserDeletedOutsideJpaIsRejectedOnceUncached() throws Exception {
+        String email = TestApi.uniqueEmail("purged");
+        String token = api.register(email);
+
+        // Ligne supprimée sans passer par JPA, cache des utilisateurs vide (redémarrage ou fin du TTL)
+        jdbcTemplate.update("DELETE FROM users WHERE email = ?", email);
+        userPrincipalCache.evict(email);
+
+        mockMvc.perform(post("/notes").header("Authorization", bearer(token))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"title\":\"After purge\",\"contentMd\":\"\"}"))
+                .andExpect(status().isForbidden());
+    }
+}
@@ -0,0 +1,69 @@
+package com.notes.backend.security;
+
+import com.notes.backend.exception.ServiceBusyException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * File du pool de hachage pleine : refus immédiat avec le délai Retry-After configuré
+ */
+class PasswordHashingServiceTest {
+
+    @Test
+    void fullQueueIsRejectedImmediately() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        PasswordHashingService service = new PasswordHashingService(
+                blockingEncoder(started, release), meterRegistry, 1, 1, 10_000, 3);
+        try {
+            // Un hachage occupe le seul thread, un second remplit la file
+            CompletableFuture<String> running = CompletableFuture.supplyAsync(() -> service.encode("first"));
+            assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+            CompletableFuture<String> queued = CompletableFuture.supplyAsync(() -> service.encode("second"));
+            while (meterRegistry.get("auth.password.hash.queue.size").gauge().value() < 1) {
+                Thread.onSpinWait();
+            }
+
+            assertThatThrownBy(() -> service.encode("third"))
+                    .isInstanceOf(ServiceBusyException.class)
+                    .extracting(e -> ((ServiceBusyException) e).getRetryAfterSeconds())
+                    .isEqualTo(3L);
+
+            release.countDown();
+            assertThat(running.get(5, TimeUnit.SECONDS)).isEqualTo("hash:first");
+            assertThat(queued.get(5, TimeUnit.SECONDS)).isEqualTo("hash:second");
+        } finally {
+            release.countDown();
+            service.shutdown();
+        }
+    }
+
+    private static PasswordEncoder blockingEncoder(CountDownLatch started, CountDownLatch release) {
+        return new PasswordEncoder() {
+            @Override
+            public String encode(CharSequence rawPassword) {
+                started.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return "hash:" + rawPassword;
+            }
+
+            @Override
+            public boolean matches(CharSequence rawPassword, String encodedPassword) {
+                return encodedPassword.equals(encode(rawPassword));
+            }
+        };
+    }
+}
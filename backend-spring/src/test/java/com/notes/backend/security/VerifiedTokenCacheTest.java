@@ -0,0 +1,83 @@
+package com.notes.backend.security;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Éviction LRU (approchée) du cache des tokens vérifiés, expiration des entrées et accès concurrents
+ */
+class VerifiedTokenCacheTest {
+
+    @Test
+    void fullCacheEvictsLeastRecentlyUsedToken() {
+        VerifiedTokenCache cache = new VerifiedTokenCache(true, 2, new SimpleMeterRegistry());
+        Claims claims = claimsExpiringIn(60_000);
+        cache.put("token-a", claims);
+        cache.put("token-b", claims);
+
+        // token-a redevient le plus récemment utilisé : token-b est évincé
+        assertThat(cache.get("token-a")).isSameAs(claims);
+        cache.put("token-c", claims);
+
+        assertThat(cache.size()).isEqualTo(2);
+        assertThat(cache.get("token-b")).isNull();
+        assertThat(cache.get("token-a")).isSameAs(claims);
+        assertThat(cache.get("token-c")).isSameAs(claims);
+    }
+
+    @Test
+    void expiredTokenIsNotServed() {
+        VerifiedTokenCache cache = new VerifiedTokenCache(true, 10, new SimpleMeterRegistry());
+        cache.put("token-expired", claimsExpiringIn(-1_000));
+
+        assertThat(cache.get("token-expired")).isNull();
+        assertThat(cache.size()).isZero();
+    }
+
+    @Test
+    void concurrentPutsStayBoundedAndServeCachedTokens() throws Exception {
+        int maxSize = 100;
+        VerifiedTokenCache cache = new VerifiedTokenCache(true, maxSize, new SimpleMeterRegistry());
+        Claims claims = claimsExpiringIn(60_000);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<?>> results = new ArrayList<>();
+            for (int thread = 0; thread < 8; thread++) {
+                int offset = thread;
+                results.add(executor.submit(() -> {
+                    for (int i = 0; i < 2_000; i++) {
+                        String token = "token-" + offset + "-" + i;
+                        cache.put(token, claims);
+                        cache.get(token);
+                    }
+                }));
+            }
+            for (Future<?> result : results) {
+                result.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        // Chaque put évince avant d'insérer : le dépassement est borné par le nombre d'écrivains
+        assertThat(cache.size()).isLessThanOrEqualTo(maxSize + 8);
+        cache.put("token-last", claims);
+        assertThat(cache.get("token-last")).isSameAs(claims);
+    }
+
+    private static Claims claimsExpiringIn(long millis) {
+        return Jwts.claims().expiration(new Date(System.currentTimeMillis() + millis)).build();
+    }
+}
@@ -0,0 +1,84 @@
+package com.notes.backend.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Coût du rendu markdown vers HTML selon la taille du document : rendu complet (nouvelle version de note)
+ * et lecture d'une version déjà rendue dans le cache.
+ * Lancement : mvn -Pbenchmark test-compile exec:exec -Dbenchmark=MarkdownRendererBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MarkdownRendererBenchmark {
+
+    private static final Long NOTE_ID = 1L;
+    private static final Long CACHED_VERSION = 0L;
+
+    // Taille du markdown en caractères (limite des notes : 50 000)
+    @Param({"1000", "10000", "50000"})
+    private int size;
+
+    private MarkdownRenderer renderer;
+    private String markdown;
+    private long version;
+
+    @Setup
+    public void setUp() {
+        renderer = new MarkdownRenderer(20_000_000L, new SimpleMeterRegistry());
+        markdown = document(size);
+        renderer.render(NOTE_ID, CACHED_VERSION, markdown);
+    }
+
+    /**
+     * Première lecture d'une nouvelle version : parsing et rendu complets
+     */
+    @Benchmark
+    public String renderNewVersion() {
+        return renderer.render(NOTE_ID + 1, ++version, markdown);
+    }
+
+    /**
+     * Lectures suivantes de la même version : servies par le cache
+     */
+    @Benchmark
+    public String renderCachedVersion() {
+        return renderer.render(NOTE_ID, CACHED_VERSION, markdown);
+    }
+
+    /**
+     * Markdown représentatif d'une note : titres, paragraphes avec emphase et liens, listes, code et tableaux
+     */
+    static String document(int size) {
+        String[] blocks = {
+                "## Section\n\n",
+                "Un paragraphe avec du **gras**, de l'*italique*, du `code` et un [lien](https://example.com/page).\n\n",
+                "- premier point\n- second point avec `inline`\n- troisième point\n\n",
+                "```java\nint total = items.stream().mapToInt(Item::count).sum();\n```\n\n",
+                "| Colonne | Valeur |\n|---|---|\n| a | 1 |\n| b | 2 |\n\n",
+                "> Citation <b>avec du HTML brut</b> échappé au rendu.\n\n"
+        };
+        StringBuilder document = new StringBuilder(size + 200);
+        for (int i = 0; document.length() < size; i++) {
+            document.append(blocks[i % blocks.length]);
+        }
+        document.setLength(size);
+        return document.toString();
+    }
+}
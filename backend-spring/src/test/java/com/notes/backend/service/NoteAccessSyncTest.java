@@ -0,0 +1,136 @@
+package com.notes.backend.service;
+
+import com.notes.backend.TestApi;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static com.notes.backend.TestApi.bearer;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * La liste d'accès matérialisée (note_access) reste alignée sur le propriétaire et les partages
+ * après ajout et retrait d'un partage, changement de visibilité et suppression de la note
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class NoteAccessSyncTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private TestApi api;
+    private String owner;
+    private String reader;
+    private String readerEmail;
+    private long noteId;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        api = new TestApi(mockMvc);
+        owner = api.register(TestApi.uniqueEmail("owner"));
+        readerEmail = TestApi.uniqueEmail("reader");
+        reader = api.register(readerEmail);
+        noteId = api.createNote(owner, "Synced note", "body");
+    }
+
+    @Test
+    void addingShareGrantsReadAccess() throws Exception {
+        assertThat(accessRows()).containsOnlyKeys(ownerId()).containsEntry(ownerId(), "OWNER");
+
+        api.share(owner, noteId, readerEmail);
+
+        assertAccessMatchesShares();
+        assertThat(accessRows()).containsEntry(readerId(), "READ");
+        mockMvc.perform(get("/notes/" + noteId).header("Authorization", bearer(reader)))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void removingShareRevokesAccess() throws Exception {
+        api.share(owner, noteId, readerEmail);
+        Long shareId = jdbcTemplate.queryForObject(
+                "SELECT id FROM shares WHERE note_id = ? AND shared_with_user_id = ?", Long.class, noteId, readerId());
+
+        mockMvc.perform(delete("/shares/" + shareId).header("Authorization", bearer(owner)))
+                .andExpect(status().isNoContent());
+
+        assertAccessMatchesShares();
+        assertThat(accessRows()).doesNotContainKey(readerId());
+        mockMvc.perform(get("/notes/" + noteId).header("Authorization", bearer(reader)))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void visibilityChangeKeepsRowsAndTheirModificationDate() throws Exception {
+        api.share(owner, noteId, readerEmail);
+
+        mockMvc.perform(patch("/notes/" + noteId).header("Authorization", bearer(owner))
+                        .contentType(MediaType.APPLICATION_JSON).content("{\"visibility\":\"PRIVATE\"}"))
+                .andExpect(status().isOk());
+
+        // L'accès suit les partages, pas la visibilité (comme avant la liste matérialisée)
+        assertAccessMatchesShares();
+        Integer stale = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM note_access a JOIN notes n ON n.id = a.note_id " +
+                "WHERE a.note_id = ? AND a.updated_at <> n.updated_at", Integer.class, noteId);
+        assertThat(stale).isZero();
+        mockMvc.perform(get("/notes/" + noteId).header("Authorization", bearer(reader)))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void deletingNoteRemovesAllRows() throws Exception {
+        api.share(owner, noteId, readerEmail);
+
+        mockMvc.perform(delete("/notes/" + noteId).header("Authorization", bearer(owner)))
+                .andExpect(status().isNoContent());
+
+        assertThat(accessRows()).isEmpty();
+    }
+
+    /**
+     * note_access contient exactement le propriétaire (OWNER) et un READ par partage
+     */
+    private void assertAccessMatchesShares() {
+        Map<Long, String> expected = new HashMap<>();
+        expected.put(ownerId(), "OWNER");
+        jdbcTemplate.queryForList("SELECT shared_with_user_id FROM shares WHERE note_id = ?", Long.class, noteId)
+                .forEach(userId -> expected.put(userId, "READ"));
+        assertThat(accessRows()).isEqualTo(expected);
+    }
+
+    private Map<Long, String> accessRows() {
+        Map<Long, String> rows = new HashMap<>();
+        jdbcTemplate.query("SELECT user_id, role FROM note_access WHERE note_id = ?",
+                rs -> {
+                    rows.put(rs.getLong("user_id"), rs.getString("role"));
+                }, noteId);
+        return rows;
+    }
+
+    private Long ownerId() {
+        return jdbcTemplate.queryForObject("SELECT owner_id FROM notes WHERE id = ?", Long.class, noteId);
+    }
+
+    private Long readerId() {
+        return jdbcTemplate.queryForObject("SELECT id FROM users WHERE email = ?", Long.class, readerEmail);
+    }
+}
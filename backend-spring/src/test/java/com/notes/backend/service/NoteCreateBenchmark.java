@@ -0,0 +1,97 @@
+package com.notes.backend.service;
+
+import com.notes.backend.NotesBackendApplication;
+import com.notes.backend.dto.NoteRequest;
+import com.notes.backend.dto.NoteResponse;
+import com.notes.backend.model.Note;
+import com.notes.backend.model.User;
+import com.notes.backend.repository.UserRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Débit de création de notes portant des tags existants (ids pris dans les séquences, insertions en batchs JDBC).
+ * Le nombre de requêtes JDBC préparées par note créée (statistiques Hibernate) est affiché à la fin de chaque itération.
+ * Lancement : mvn -Pbenchmark test-compile exec:exec -Dbenchmark=NoteCreateBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class NoteCreateBenchmark {
+
+    private static final String EMAIL = "author@example.com";
+
+    @Param({"0", "15"})
+    private int tags;
+
+    private ConfigurableApplicationContext context;
+    private NoteService noteService;
+    private Statistics statistics;
+    private Set<String> labels;
+    private long created;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(NotesBackendApplication.class)
+                .profiles("test")
+                .run("--server.port=0", "--spring.datasource.url=jdbc:h2:mem:note-create-bench",
+                        "--spring.jpa.properties.hibernate.generate_statistics=true");
+        noteService = context.getBean(NoteService.class);
+        statistics = context.getBean(EntityManagerFactory.class).unwrap(SessionFactory.class).getStatistics();
+        context.getBean(UserRepository.class).save(new User(EMAIL, "password-hash", "Author"));
+
+        labels = new LinkedHashSet<>();
+        for (int i = 0; i < tags; i++) {
+            labels.add("tag" + i);
+        }
+        // Les tags existent déjà : seules la note, sa ligne d'accès et ses liaisons sont écrites
+        noteService.createNote(new NoteRequest("Création des tags", "", Note.Visibility.PRIVATE, labels), EMAIL);
+    }
+
+    @Setup(Level.Iteration)
+    public void resetStatistics() {
+        statistics.clear();
+        created = 0;
+    }
+
+    @TearDown(Level.Iteration)
+    public void printStatistics() {
+        System.out.printf("%n%d notes, %.1f JDBC statements per note%n",
+                created, (double) statistics.getPrepareStatementCount() / Math.max(created, 1));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public NoteResponse createNote() {
+        created++;
+        return noteService.createNote(new NoteRequest("Note " + created, "Contenu de la note " + created,
+                Note.Visibility.PRIVATE, labels), EMAIL);
+    }
+}
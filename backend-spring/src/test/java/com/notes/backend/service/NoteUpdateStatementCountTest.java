@@ -0,0 +1,104 @@
+package com.notes.backend.service;
+
+import com.notes.backend.dto.NoteRequest;
+import com.notes.backend.dto.NoteResponse;
+import com.notes.backend.model.Note;
+import com.notes.backend.model.NoteTag;
+import com.notes.backend.model.User;
+import com.notes.backend.repository.UserRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.EntityStatistics;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Écritures de updateNote : aucune pour une sauvegarde sans changement,
+ * une seule ligne note_tags insérée ou supprimée par tag ajouté ou retiré
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@ActiveProfiles("test")
+class NoteUpdateStatementCountTest {
+
+    @Autowired
+    private NoteService noteService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+    private String email;
+    private String suffix;
+    private NoteResponse note;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        suffix = UUID.randomUUID().toString().substring(0, 8);
+        email = "update-" + suffix + "@count.test";
+        userRepository.save(new User(email, "password-hash", "Updater"));
+        note = noteService.createNote(request("Title", "Body", tags("alpha", "beta", "gamma")), email);
+    }
+
+    @Test
+    void unchangedSaveWritesNothingAndKeepsVersion() {
+        startCounting();
+        NoteResponse saved = noteService.updateNote(note.getId(),
+                request("Title", "Body", tags("gamma", "alpha", "beta")), email);
+
+        assertThat(statistics.getEntityUpdateCount()).isZero();
+        assertThat(statistics.getEntityInsertCount()).isZero();
+        assertThat(statistics.getEntityDeleteCount()).isZero();
+        assertThat(saved.getVersion()).isEqualTo(note.getVersion());
+    }
+
+    @Test
+    void replacingOneTagWritesOnlyThatNoteTagRow() {
+        startCounting();
+        noteService.updateNote(note.getId(), request("Title", "Body", tags("alpha", "beta", "delta")), email);
+
+        EntityStatistics noteTags = statistics.getEntityStatistics(NoteTag.class.getName());
+        assertThat(noteTags.getInsertCount()).isEqualTo(1);
+        assertThat(noteTags.getDeleteCount()).isEqualTo(1);
+        assertThat(noteTags.getUpdateCount()).isZero();
+    }
+
+    @Test
+    void removingOneTagDeletesOnlyThatNoteTagRow() {
+        startCounting();
+        noteService.updateNote(note.getId(), request("Title", "Body", tags("alpha", "beta")), email);
+
+        EntityStatistics noteTags = statistics.getEntityStatistics(NoteTag.class.getName());
+        assertThat(noteTags.getInsertCount()).isZero();
+        assertThat(noteTags.getDeleteCount()).isEqualTo(1);
+    }
+
+    private void startCounting() {
+        statistics.setStatisticsEnabled(true);
+        statistics.clear();
+    }
+
+    /**
+     * Labels propres au test : les tags sont partagés entre les classes de test
+     */
+    private Set<String> tags(String... labels) {
+        return Set.of(labels).stream().map(label -> label + "-" + suffix).collect(Collectors.toSet());
+    }
+
+    private static NoteRequest request(String title, String contentMd, Set<String> tags) {
+        return new NoteRequest(title, contentMd, Note.Visibility.PRIVATE, tags);
+    }
+}
@@ -0,0 +1,112 @@
+package com.notes.backend.service;
+
+import com.notes.backend.dto.NoteVersion;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Invalidation par note, éviction quand le cache est plein et chargement unique par clé du cache des notes publiques
+ */
+class PublicNoteCacheTest {
+
+    private final PublicNoteCache cache = new PublicNoteCache(true, Duration.ofMinutes(1), 100, new SimpleMeterRegistry());
+
+    @Test
+    void invalidationOnlyDropsEntriesOfThatNote() {
+        cache.load("a", load -> loaded(load, 1L));
+        cache.load("a#html", load -> loaded(load, 1L));
+        cache.load("b", load -> loaded(load, 2L));
+
+        cache.invalidateNote(1L);
+
+        assertThat(cache.get("a")).isNull();
+        assertThat(cache.get("a#html")).isNull();
+        assertThat(cache.get("b")).isNotNull();
+    }
+
+    @Test
+    void invalidationDuringLoadOnlyDiscardsLoadsOfThatNote() {
+        cache.load("a", load -> {
+            Optional<PublicNoteCache.Entry> entry = loaded(load, 1L);
+            cache.invalidateNote(2L);
+            return entry;
+        });
+        assertThat(cache.get("a")).isNotNull();
+
+        cache.load("b", load -> {
+            Optional<PublicNoteCache.Entry> entry = loaded(load, 2L);
+            cache.invalidateNote(2L);
+            return entry;
+        });
+        assertThat(cache.get("b")).isNull();
+    }
+
+    @Test
+    void fullCacheEvictsOldestEntryToAdmitNewOne() throws Exception {
+        PublicNoteCache small = new PublicNoteCache(true, Duration.ofMinutes(1), 2, new SimpleMeterRegistry());
+        small.load("a", load -> loaded(load, 1L));
+        // Expirations distinctes : "a" est la plus ancienne entrée
+        Thread.sleep(5);
+        small.load("b", load -> loaded(load, 2L));
+        small.load("c", load -> loaded(load, 3L));
+
+        assertThat(small.get("a")).isNull();
+        assertThat(small.get("b")).isNotNull();
+        assertThat(small.get("c")).isNotNull();
+    }
+
+    @Test
+    void concurrentMissesShareOneLoad() throws Exception {
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<Optional<PublicNoteCache.Entry>> first = executor.submit(() -> cache.load("a", load -> {
+                loads.incrementAndGet();
+                started.countDown();
+                await(release);
+                return loaded(load, 1L);
+            }));
+            started.await(5, TimeUnit.SECONDS);
+            Future<Optional<PublicNoteCache.Entry>> second = executor.submit(() -> cache.load("a", load -> {
+                loads.incrementAndGet();
+                return loaded(load, 1L);
+            }));
+            // Laisser le second appel rejoindre le chargement en cours
+            Thread.sleep(100);
+            release.countDown();
+
+            assertThat(second.get(5, TimeUnit.SECONDS).get()).isSameAs(first.get(5, TimeUnit.SECONDS).get());
+            assertThat(loads).hasValue(1);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static Optional<PublicNoteCache.Entry> loaded(PublicNoteCache.Load load, Long noteId) {
+        load.noteId(noteId);
+        return Optional.of(new PublicNoteCache.Entry(noteId, new byte[0],
+                new NoteVersion(0L, 0L, LocalDateTime.now(), null), Long.MAX_VALUE));
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
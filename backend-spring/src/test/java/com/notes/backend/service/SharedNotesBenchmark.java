@@ -0,0 +1,121 @@
+package com.notes.backend.service;
+
+import com.notes.backend.NotesBackendApplication;
+import com.notes.backend.dto.NoteResponse;
+import com.notes.backend.dto.NoteSummary;
+import com.notes.backend.model.Note;
+import com.notes.backend.model.User;
+import com.notes.backend.repository.NoteRepository;
+import com.notes.backend.repository.UserRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mémoire allouée par la lecture d'une page de notes partagées selon le nombre de notes partagées avec l'utilisateur.
+ * La page est lue en base (OFFSET/FETCH) : l'allocation par appel ne dépend pas du nombre de partages,
+ * contrairement à la référence qui charge toute la liste puis la découpe en mémoire (implémentation précédente).
+ * Lancement avec le profileur d'allocation (gc.alloc.rate.norm = octets alloués par appel) :
+ * mvn -Pbenchmark test-compile exec:exec -Dbenchmark=SharedNotesBenchmark -Djmh.args="-prof gc"
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SharedNotesBenchmark {
+
+    private static final String READER_EMAIL = "reader@example.com";
+    private static final int PAGE_SIZE = 20;
+    private static final int CONTENT_LENGTH = 2000;
+
+    @Param({"1000", "10000"})
+    private int shared;
+
+    private ConfigurableApplicationContext context;
+    private NoteService noteService;
+    private NoteRepository noteRepository;
+    private TransactionTemplate transactionTemplate;
+    private User reader;
+
+    @Setup
+    public void setUp() {
+        context = new SpringApplicationBuilder(NotesBackendApplication.class)
+                .profiles("test")
+                .run("--server.port=0", "--spring.datasource.url=jdbc:h2:mem:shared-notes-bench");
+        noteService = context.getBean(NoteService.class);
+        noteRepository = context.getBean(NoteRepository.class);
+        transactionTemplate = context.getBean(TransactionTemplate.class);
+        populate(context.getBean(JdbcTemplate.class));
+        reader = context.getBean(UserRepository.class).findByEmail(READER_EMAIL).orElseThrow();
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Page<NoteResponse> sharedNotesPage() {
+        return noteService.getSharedNotes(READER_EMAIL, 0, PAGE_SIZE);
+    }
+
+    @Benchmark
+    public Page<NoteSummary> sharedNoteSummariesPage() {
+        return noteService.getSharedNoteSummaries(READER_EMAIL, 0, PAGE_SIZE);
+    }
+
+    @Benchmark
+    public Object sharedNotesFirstCursorPage() {
+        return noteService.getSharedNotesByCursor(READER_EMAIL, null, PAGE_SIZE, false);
+    }
+
+    /**
+     * Référence : toutes les notes partagées chargées puis découpées avec subList
+     */
+    @Benchmark
+    public List<NoteResponse> sharedNotesSlicedInMemory() {
+        return transactionTemplate.execute(status -> {
+            List<Note> all = noteRepository.findSharedWithUser(reader, Pageable.unpaged()).getContent();
+            return all.subList(0, Math.min(PAGE_SIZE, all.size())).stream().map(NoteResponse::new).toList();
+        });
+    }
+
+    /**
+     * Un propriétaire, un lecteur et les notes du propriétaire partagées avec le lecteur
+     */
+    private void populate(JdbcTemplate jdbcTemplate) {
+        jdbcTemplate.update("INSERT INTO users (id, email, password_hash, name, created_at) VALUES " +
+                "(1000001, 'owner@example.com', 'password-hash', 'Owner', CURRENT_TIMESTAMP), " +
+                "(1000002, ?, 'password-hash', 'Reader', CURRENT_TIMESTAMP)", READER_EMAIL);
+        jdbcTemplate.update("INSERT INTO notes (id, owner_id, title, content_md, visibility, created_at, updated_at) " +
+                "SELECT 1000000 + X, 1000001, CONCAT('Note partagée ', X), REPEAT('x', " + CONTENT_LENGTH + "), 'SHARED', " +
+                "TIMESTAMP '2024-01-01 00:00:00', DATEADD('SECOND', X, TIMESTAMP '2024-01-01 00:00:00') " +
+                "FROM SYSTEM_RANGE(1, " + shared + ")");
+        jdbcTemplate.update("INSERT INTO shares (id, note_id, shared_with_user_id, permission, created_at) " +
+                "SELECT id, id, 1000002, 'READ', created_at FROM notes WHERE owner_id = 1000001");
+        jdbcTemplate.update("INSERT INTO note_access (user_id, note_id, role, updated_at) " +
+                "SELECT 1000001, id, 'OWNER', updated_at FROM notes WHERE owner_id = 1000001");
+        jdbcTemplate.update("INSERT INTO note_access (user_id, note_id, role, updated_at) " +
+                "SELECT 1000002, id, 'READ', updated_at FROM notes WHERE owner_id = 1000001");
+    }
+}
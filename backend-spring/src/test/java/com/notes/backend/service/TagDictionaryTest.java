@@ -0,0 +1,103 @@
+package com.notes.backend.service;
+
+import com.notes.backend.TestApi;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static com.notes.backend.TestApi.bearer;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Création des tags dans la transaction de la note : labels allongés par le repli, créateurs concurrents
+ * plus nombreux que les connexions du pool
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class TagDictionaryTest {
+
+    private static final int CONCURRENT_WRITERS = 16;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private TestApi api;
+
+    @BeforeEach
+    void setUp() {
+        api = new TestApi(mockMvc);
+    }
+
+    @Test
+    void labelLongerOnceFoldedIsStoredAndTooLongLabelIsRejected() throws Exception {
+        String token = api.register(TestApi.uniqueEmail("folding"));
+
+        // 50 caractères, 100 une fois replié
+        String ligatures = "œ".repeat(50);
+        api.createNote(token, "Ligatures", "", ligatures);
+        assertThat(jdbcTemplate.queryForObject("SELECT label_normalized FROM tags WHERE label = ?", String.class, ligatures))
+                .isEqualTo("oe".repeat(50));
+
+        mockMvc.perform(post("/notes").header("Authorization", bearer(token))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"title\":\"Too long\",\"tags\":[\"" + "x".repeat(51) + "\"]}"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Invalid tag label: must be between 2 and 50 characters"));
+    }
+
+    @Test
+    void concurrentWritersCreateEachNewTagOnce() throws Exception {
+        String token = api.register(TestApi.uniqueEmail("writer"));
+        String suffix = UUID.randomUUID().toString().substring(0, 8);
+        String[] labels = {"alpha-" + suffix, "beta-" + suffix, "gamma-" + suffix};
+
+        ExecutorService executor = Executors.newFixedThreadPool(CONCURRENT_WRITERS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Long>> notes = new ArrayList<>();
+        try {
+            for (int i = 0; i < CONCURRENT_WRITERS; i++) {
+                // Ordres différents d'un écrivain à l'autre
+                String[] tags = i % 2 == 0 ? labels : new String[] {labels[2], labels[1], labels[0]};
+                notes.add(executor.submit(() -> {
+                    start.await();
+                    return api.createNote(token, "Concurrent note", "", tags);
+                }));
+            }
+            start.countDown();
+            for (Future<Long> note : notes) {
+                assertThat(note.get(30, TimeUnit.SECONDS)).isPositive();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        for (String label : labels) {
+            assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM tags WHERE label = ?", Long.class, label))
+                    .isEqualTo(1L);
+            assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM note_tags nt JOIN tags t ON t.id = nt.tag_id " +
+                    "WHERE t.label = ?", Long.class, label)).isEqualTo(CONCURRENT_WRITERS);
+        }
+    }
+}
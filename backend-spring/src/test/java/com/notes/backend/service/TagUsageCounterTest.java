@@ -0,0 +1,91 @@
+package com.notes.backend.service;
+
+import com.notes.backend.TestApi;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Reconstruction des compteurs d'usage pendant que des écritures validées les mettent à jour
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class TagUsageCounterTest {
+
+    private static final int WRITERS = 8;
+    private static final int ROUNDS = 5;
+    private static final int NOTES_PER_ROUND = 10;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TagUsageCounter tagUsageCounter;
+
+    private TestApi api;
+
+    @BeforeEach
+    void setUp() {
+        api = new TestApi(mockMvc);
+    }
+
+    @Test
+    void notesCreatedDuringRebuildsAreCountedOnce() throws Exception {
+        String email = TestApi.uniqueEmail("counter");
+        String token = api.register(email);
+        String label = "compte-" + UUID.randomUUID().toString().substring(0, 8);
+
+        // À chaque tour, une reconstruction démarre en même temps que les écritures du tour
+        CyclicBarrier round = new CyclicBarrier(WRITERS + 1);
+        ExecutorService executor = Executors.newFixedThreadPool(WRITERS);
+        List<Future<?>> writers = new ArrayList<>();
+        try {
+            for (int i = 0; i < WRITERS; i++) {
+                writers.add(executor.submit(() -> {
+                    for (int r = 0; r < ROUNDS; r++) {
+                        round.await(30, TimeUnit.SECONDS);
+                        for (int n = 0; n < NOTES_PER_ROUND; n++) {
+                            api.createNote(token, "Counted note", "", label);
+                        }
+                    }
+                    return null;
+                }));
+            }
+            for (int r = 0; r < ROUNDS; r++) {
+                round.await(30, TimeUnit.SECONDS);
+                tagUsageCounter.rebuild();
+            }
+            for (Future<?> writer : writers) {
+                writer.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        Long userId = jdbcTemplate.queryForObject("SELECT id FROM users WHERE email = ?", Long.class, email);
+        Long tagId = jdbcTemplate.queryForObject("SELECT id FROM tags WHERE label = ?", Long.class, label);
+        assertThat(tagUsageCounter.topForUser(userId, 10))
+                .containsExactly(Map.entry(tagId, (long) WRITERS * ROUNDS * NOTES_PER_ROUND));
+    }
+}